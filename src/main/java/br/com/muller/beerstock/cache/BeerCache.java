@@ -0,0 +1,78 @@
+package br.com.muller.beerstock.cache;
+
+import br.com.muller.beerstock.dto.BeerDTO;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-instance cache of beers by name. Invalidations leave a versioned tombstone behind, so a load that
+ * started before the write cannot put the old state back; entries older than the staleness bound are
+ * ignored in case an invalidation from another instance got lost.
+ */
+public class BeerCache {
+
+    private final int maxEntries;
+    private final long maxStalenessNanos;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public BeerCache(int maxEntries, long maxStalenessMillis) {
+        this.maxEntries = maxEntries;
+        this.maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(maxStalenessMillis);
+    }
+
+    public Optional<BeerDTO> get(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null || entry.beer == null || isExpired(entry, System.nanoTime()))
+            return Optional.empty();
+        return Optional.of(entry.beer);
+    }
+
+    public void put(String name, BeerDTO beer, long version) {
+        if (entries.size() >= maxEntries && !entries.containsKey(name)) {
+            evictExpired();
+            if (entries.size() >= maxEntries)
+                return;
+        }
+        long now = System.nanoTime();
+        entries.compute(name, (key, current) ->
+                current == null || version >= current.version || isExpired(current, now)
+                        ? new Entry(beer, version, now)
+                        : current);
+    }
+
+    public void invalidate(String name, long version) {
+        long now = System.nanoTime();
+        entries.compute(name, (key, current) ->
+                current == null || version >= current.version || isExpired(current, now)
+                        ? new Entry(null, version, now)
+                        : current);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> isExpired(entry, now));
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.createdAt >= maxStalenessNanos;
+    }
+
+    private static class Entry {
+        private final BeerDTO beer;
+        private final long version;
+        private final long createdAt;
+
+        private Entry(BeerDTO beer, long version, long createdAt) {
+            this.beer = beer;
+            this.version = version;
+            this.createdAt = createdAt;
+        }
+    }
+}
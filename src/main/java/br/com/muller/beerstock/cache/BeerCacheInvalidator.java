@@ -0,0 +1,27 @@
+package br.com.muller.beerstock.cache;
+
+import br.com.muller.beerstock.event.BeerChangedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class BeerCacheInvalidator {
+
+    private final BeerCache beerCache;
+    private final ObjectProvider<UdpInvalidationBus> invalidationBus;
+
+    @Autowired
+    public BeerCacheInvalidator(BeerCache beerCache, ObjectProvider<UdpInvalidationBus> invalidationBus) {
+        this.beerCache = beerCache;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        String name = event.getBeer().getName();
+        beerCache.invalidate(name, event.getVersion());
+        invalidationBus.ifAvailable(bus -> bus.publish(name, event.getVersion()));
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.muller.beerstock.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Fire-and-forget invalidations between instances, one datagram per peer. Lost datagrams are covered by
+ * the cache's staleness bound.
+ */
+@Slf4j
+public class UdpInvalidationBus {
+
+    private static final int MAX_MESSAGE_SIZE = 1024;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final List<InetSocketAddress> peers;
+    private final BeerCache beerCache;
+    private final DatagramSocket socket;
+    private final Thread receiver;
+
+    public UdpInvalidationBus(int port, List<String> peers, BeerCache beerCache) throws SocketException {
+        this.peers = peers.stream()
+                .map(UdpInvalidationBus::parseAddress)
+                .collect(Collectors.toList());
+        this.beerCache = beerCache;
+        this.socket = new DatagramSocket(port);
+        this.receiver = new Thread(this::receive, "beer-cache-invalidations");
+        this.receiver.setDaemon(true);
+    }
+
+    public void start() {
+        receiver.start();
+    }
+
+    public void stop() {
+        socket.close();
+    }
+
+    public int getLocalPort() {
+        return socket.getLocalPort();
+    }
+
+    public void publish(String name, long version) {
+        byte[] message = (instanceId + '\n' + version + '\n' + name).getBytes(StandardCharsets.UTF_8);
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(message, message.length, peer));
+            } catch (IOException e) {
+                log.warn("Could not send invalidation of {} to {}: {}", name, peer, e.getMessage());
+            }
+        }
+    }
+
+    private void receive() {
+        byte[] buffer = new byte[MAX_MESSAGE_SIZE];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                String[] message = new String(packet.getData(), 0, packet.getLength(), StandardCharsets.UTF_8).split("\n", 3);
+                if (message.length == 3 && !instanceId.equals(message[0]))
+                    beerCache.invalidate(message[2], Long.parseLong(message[1]));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed invalidation from {}", packet.getSocketAddress());
+            } catch (IOException e) {
+                if (!socket.isClosed())
+                    log.warn("Could not receive invalidation: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static InetSocketAddress parseAddress(String peer) {
+        int separator = peer.lastIndexOf(':');
+        return new InetSocketAddress(peer.substring(0, separator), Integer.parseInt(peer.substring(separator + 1)));
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.muller.beerstock.capacity;
+
+import br.com.muller.beerstock.enums.BeerType;
+import br.com.muller.beerstock.exception.BeerCapacityExceededException;
+import lombok.Getter;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Beers sharing one storage area, by type and/or brand, with the units they hold together.
+ */
+@Getter
+public class CapacityGroup {
+
+    private final String name;
+    private final Set<BeerType> types;
+    private final Set<String> brands;
+    private final long limit;
+    private final AtomicLong used = new AtomicLong();
+
+    public CapacityGroup(String name, Set<BeerType> types, Set<String> brands, long limit) {
+        this.name = name;
+        this.types = Set.copyOf(types);
+        this.brands = Set.copyOf(brands);
+        this.limit = limit;
+    }
+
+    void add(long quantity) throws BeerCapacityExceededException {
+        if (quantity <= 0) {
+            used.addAndGet(quantity);
+            return;
+        }
+        long current;
+        do {
+            current = used.get();
+            if (current + quantity > limit)
+                throw new BeerCapacityExceededException(name, current, limit, quantity);
+        } while (!used.compareAndSet(current, current + quantity));
+    }
+
+    void adjust(long quantity) {
+        used.addAndGet(quantity);
+    }
+
+    long reset(long quantity) {
+        return used.getAndSet(quantity);
+    }
+}
@@ -0,0 +1,153 @@
+package br.com.muller.beerstock.capacity;
+
+import br.com.muller.beerstock.enums.BeerType;
+import br.com.muller.beerstock.exception.BeerCapacityExceededException;
+import br.com.muller.beerstock.repository.BeerRepository;
+import br.com.muller.beerstock.repository.CapacityUsage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the units held by every capacity group in an atomic counter, so a change is accepted or
+ * rejected with a compare-and-set instead of an aggregate query. Counters are loaded from and
+ * periodically reconciled with the stored quantities. Changes share a lock that reconciliation takes
+ * exclusively while it reads, so no change is counted twice or lost when the counters are reset.
+ */
+@Slf4j
+public class CapacityGuard {
+
+    private final List<CapacityGroup> groups;
+    private final Map<BeerType, List<CapacityGroup>> groupsByType = new EnumMap<>(BeerType.class);
+    private final Map<String, List<CapacityGroup>> groupsByBrand = new HashMap<>();
+    private final BeerRepository beerRepository;
+    private final ReadWriteLock reconciliationLock = new ReentrantReadWriteLock();
+
+    public CapacityGuard(Collection<CapacityGroup> groups, BeerRepository beerRepository) {
+        this.groups = List.copyOf(groups);
+        this.beerRepository = beerRepository;
+        for (CapacityGroup group : this.groups) {
+            group.getTypes().forEach(type -> groupsByType.computeIfAbsent(type, key -> new ArrayList<>()).add(group));
+            group.getBrands().forEach(brand -> groupsByBrand.computeIfAbsent(brand, key -> new ArrayList<>()).add(group));
+        }
+    }
+
+    /**
+     * Runs a change adding quantity units to a beer of the given type and brand, rejecting it when a
+     * group would overflow. Counters are restored when the change throws.
+     */
+    public <T> T guard(BeerType type, String brand, long quantity, Supplier<T> change) throws BeerCapacityExceededException {
+        List<CapacityGroup> matching = groupsOf(type, brand);
+        if (matching.isEmpty())
+            return change.get();
+        reconciliationLock.readLock().lock();
+        try {
+            add(matching, quantity);
+            return apply(matching, quantity, change);
+        } finally {
+            reconciliationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a change taking quantity units away from a beer, which never overflows a group.
+     */
+    public <T> T remove(BeerType type, String brand, long quantity, Supplier<T> change) {
+        List<CapacityGroup> matching = groupsOf(type, brand);
+        if (matching.isEmpty())
+            return change.get();
+        reconciliationLock.readLock().lock();
+        try {
+            matching.forEach(group -> group.adjust(-quantity));
+            return apply(matching, -quantity, change);
+        } finally {
+            reconciliationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs changes that only learn their quantities while running, like a batch of movements; they
+     * call {@link #reserve} and {@link #release} themselves.
+     */
+    public void withCounters(Runnable changes) {
+        reconciliationLock.readLock().lock();
+        try {
+            changes.run();
+        } finally {
+            reconciliationLock.readLock().unlock();
+        }
+    }
+
+    public void reserve(BeerType type, String brand, long quantity) throws BeerCapacityExceededException {
+        add(groupsOf(type, brand), quantity);
+    }
+
+    public void release(BeerType type, String brand, long quantity) {
+        groupsOf(type, brand).forEach(group -> group.adjust(-quantity));
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.capacity.reconcile-interval-millis:60000}",
+            initialDelayString = "${beerstock.capacity.reconcile-interval-millis:60000}")
+    public void reconcile() {
+        if (groups.isEmpty())
+            return;
+        reconciliationLock.writeLock().lock();
+        try {
+            Map<CapacityGroup, Long> stored = new LinkedHashMap<>();
+            groups.forEach(group -> stored.put(group, 0L));
+            for (CapacityUsage usage : beerRepository.sumQuantityByTypeAndBrand())
+                for (CapacityGroup group : groupsOf(usage.getType(), usage.getBrand()))
+                    stored.merge(group, usage.getQuantity(), Long::sum);
+            stored.forEach((group, quantity) -> {
+                long counted = group.reset(quantity);
+                if (counted != quantity)
+                    log.info("Capacity group {} counted {} units, {} stored", group.getName(), counted, quantity);
+            });
+        } finally {
+            reconciliationLock.writeLock().unlock();
+        }
+    }
+
+    private <T> T apply(List<CapacityGroup> matching, long quantity, Supplier<T> change) {
+        try {
+            return change.get();
+        } catch (RuntimeException e) {
+            matching.forEach(group -> group.adjust(-quantity));
+            throw e;
+        }
+    }
+
+    private void add(List<CapacityGroup> matching, long quantity) throws BeerCapacityExceededException {
+        for (int i = 0; i < matching.size(); i++) {
+            try {
+                matching.get(i).add(quantity);
+            } catch (BeerCapacityExceededException e) {
+                for (int j = 0; j < i; j++)
+                    matching.get(j).adjust(-quantity);
+                throw e;
+            }
+        }
+    }
+
+    private List<CapacityGroup> groupsOf(BeerType type, String brand) {
+        List<CapacityGroup> byType = type == null ? List.of() : groupsByType.getOrDefault(type, List.of());
+        List<CapacityGroup> byBrand = brand == null ? List.of() : groupsByBrand.getOrDefault(brand, List.of());
+        if (byBrand.isEmpty())
+            return byType;
+        if (byType.isEmpty())
+            return byBrand;
+        List<CapacityGroup> matching = new ArrayList<>(byType);
+        byBrand.stream().filter(group -> !matching.contains(group)).forEach(matching::add);
+        return matching;
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.muller.beerstock.config;
+
+import br.com.muller.beerstock.cache.BeerCache;
+import br.com.muller.beerstock.cache.UdpInvalidationBus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.net.SocketException;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public BeerCache beerCache(CacheProperties properties) {
+        return new BeerCache(properties.isEnabled() ? properties.getMaxEntries() : 0, properties.getMaxStalenessMillis());
+    }
+
+    @Lazy(false)
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnExpression("${beerstock.cache.enabled:true} and ${beerstock.cache.invalidation-port:0} > 0")
+    public UdpInvalidationBus invalidationBus(CacheProperties properties, BeerCache beerCache) throws SocketException {
+        return new UdpInvalidationBus(properties.getInvalidationPort(), properties.getPeers(), beerCache);
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.muller.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "beerstock.cache")
+public class CacheProperties {
+
+    private boolean enabled = true;
+
+    private int maxEntries = 10_000;
+
+    /**
+     * Upper bound for serving an entry whose invalidation got lost on the network.
+     */
+    private long maxStalenessMillis = 1_000;
+
+    /**
+     * UDP port receiving invalidations from the other instances; 0 keeps the cache local only.
+     */
+    private int invalidationPort = 0;
+
+    /**
+     * host:port of the other instances' invalidation ports.
+     */
+    private List<String> peers = new ArrayList<>();
+}
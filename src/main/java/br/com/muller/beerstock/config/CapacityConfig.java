@@ -0,0 +1,24 @@
+package br.com.muller.beerstock.config;
+
+import br.com.muller.beerstock.capacity.CapacityGroup;
+import br.com.muller.beerstock.capacity.CapacityGuard;
+import br.com.muller.beerstock.repository.BeerRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Configuration
+public class CapacityConfig {
+
+    @Lazy(false)
+    @Bean(initMethod = "reconcile")
+    public CapacityGuard capacityGuard(CapacityProperties properties, BeerRepository beerRepository) {
+        List<CapacityGroup> groups = properties.getGroups().entrySet().stream()
+                .map(group -> new CapacityGroup(group.getKey(), group.getValue().getTypes(), group.getValue().getBrands(), group.getValue().getLimit()))
+                .collect(Collectors.toList());
+        return new CapacityGuard(groups, beerRepository);
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.muller.beerstock.config;
+
+import br.com.muller.beerstock.enums.BeerType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "beerstock.capacity")
+public class CapacityProperties {
+
+    /**
+     * Storage areas by name, e.g. beerstock.capacity.groups.cold-room.types=STOUT,IPA and
+     * beerstock.capacity.groups.cold-room.limit=2000; none by default.
+     */
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    /**
+     * How often the in-memory counters are checked against the stored quantities.
+     */
+    private long reconcileIntervalMillis = 60_000;
+
+    @Data
+    public static class Group {
+
+        private Set<BeerType> types = new HashSet<>();
+
+        private Set<String> brands = new HashSet<>();
+
+        /**
+         * Most units all beers of the group may hold together.
+         */
+        private long limit;
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.muller.beerstock.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizes the Hikari pool from the core count (cores * 2 + 1) unless a size was configured explicitly.
+ * Pools that are not beans themselves (the primary and replica pools of the {@code replicas} profile)
+ * are sized through {@link #applyTo(HikariDataSource)}.
+ */
+@Component
+@Profile("prod")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class DataSourcePoolSizing implements BeanPostProcessor {
+
+    public static final String MAXIMUM_POOL_SIZE_PROPERTY = "spring.datasource.hikari.maximum-pool-size";
+    public static final String MINIMUM_IDLE_PROPERTY = "spring.datasource.hikari.minimum-idle";
+
+    private final Environment environment;
+
+    public static int poolSizeForCores(int cores) {
+        return cores * 2 + 1;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource)
+            applyTo((HikariDataSource) bean);
+        return bean;
+    }
+
+    public void applyTo(HikariDataSource dataSource) {
+        if (!environment.containsProperty(MAXIMUM_POOL_SIZE_PROPERTY))
+            dataSource.setMaximumPoolSize(poolSizeForCores(Runtime.getRuntime().availableProcessors()));
+        if (!environment.containsProperty(MINIMUM_IDLE_PROPERTY))
+            dataSource.setMinimumIdle(dataSource.getMaximumPoolSize());
+    }
+}
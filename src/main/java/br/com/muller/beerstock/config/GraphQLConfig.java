@@ -0,0 +1,69 @@
+package br.com.muller.beerstock.config;
+
+import br.com.muller.beerstock.enums.BeerType;
+import br.com.muller.beerstock.graphql.BeerDataFetchers;
+import br.com.muller.beerstock.graphql.BeerQueryComplexity;
+import br.com.muller.beerstock.graphql.GraphQLOperationFilter;
+import br.com.muller.beerstock.repository.BeerRepository;
+import br.com.muller.beerstock.service.BeerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.GraphQL;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Configuration
+public class GraphQLConfig {
+
+    private static final String SCHEMA = "graphql/beer.graphqls";
+    private static final String GRAPHQL_PATH = "/api/v1/graphql";
+
+    @Bean
+    public BeerDataFetchers beerDataFetchers(BeerRepository beerRepository, BeerService beerService, GraphQLProperties properties) {
+        return new BeerDataFetchers(beerRepository, beerService, properties.getMaxPageSize());
+    }
+
+    @Bean
+    public FilterRegistrationBean<GraphQLOperationFilter> graphQLOperationFilter(ObjectMapper objectMapper) {
+        FilterRegistrationBean<GraphQLOperationFilter> registration = new FilterRegistrationBean<>(new GraphQLOperationFilter(objectMapper));
+        registration.addUrlPatterns(GRAPHQL_PATH);
+        return registration;
+    }
+
+    @Bean
+    public GraphQL graphQL(BeerDataFetchers dataFetchers, GraphQLProperties properties) throws IOException {
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", query -> query
+                        .dataFetcher("beer", dataFetchers.beer())
+                        .dataFetcher("beerById", dataFetchers.beerById())
+                        .dataFetcher("beers", dataFetchers.beers()))
+                .type("Mutation", mutation -> mutation
+                        .dataFetcher("increment", dataFetchers.increment())
+                        .dataFetcher("decrement", dataFetchers.decrement()))
+                .type("BeerType", type -> type.enumValues(BeerType::valueOf))
+                .build();
+        GraphQLSchema schema;
+        try (Reader reader = new InputStreamReader(new ClassPathResource(SCHEMA).getInputStream(), StandardCharsets.UTF_8)) {
+            schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(reader), wiring);
+        }
+        return GraphQL.newGraphQL(schema)
+                .instrumentation(new ChainedInstrumentation(List.of(
+                        new MaxQueryDepthInstrumentation(properties.getMaxDepth()),
+                        new MaxQueryComplexityInstrumentation(properties.getMaxComplexity(), new BeerQueryComplexity()))))
+                .build();
+    }
+}
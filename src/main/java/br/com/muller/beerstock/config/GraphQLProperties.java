@@ -0,0 +1,20 @@
+package br.com.muller.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "beerstock.graphql")
+public class GraphQLProperties {
+
+    private int maxDepth = 5;
+
+    /**
+     * Highest cost of a query, where a list of beers costs its page size times the fields selected.
+     */
+    private int maxComplexity = 5_000;
+
+    private int maxPageSize = 1_000;
+}
@@ -0,0 +1,30 @@
+package br.com.muller.beerstock.config;
+
+import br.com.muller.beerstock.grpc.BeerStockGrpcService;
+import br.com.muller.beerstock.grpc.GrpcServer;
+import br.com.muller.beerstock.grpc.StockUpdateBroadcaster;
+import br.com.muller.beerstock.movement.MovementQueue;
+import br.com.muller.beerstock.service.BeerService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+@Configuration
+@ConditionalOnProperty(prefix = "beerstock.grpc", name = "enabled", havingValue = "true")
+public class GrpcConfig {
+
+    @Lazy(false)
+    @Bean
+    public StockUpdateBroadcaster stockUpdateBroadcaster() {
+        return new StockUpdateBroadcaster();
+    }
+
+    @Lazy(false)
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public GrpcServer grpcServer(GrpcProperties properties, BeerService beerService, MovementQueue movementQueue,
+                                 StockUpdateBroadcaster stockUpdateBroadcaster) {
+        return new GrpcServer(properties.getPort(), properties.getShutdownGraceMillis(),
+                new BeerStockGrpcService(beerService, movementQueue, stockUpdateBroadcaster));
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.muller.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "beerstock.grpc")
+public class GrpcProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Port of the gRPC server, next to the HTTP one; 0 picks a free port.
+     */
+    private int port = 9090;
+
+    private long shutdownGraceMillis = 5_000;
+}
@@ -0,0 +1,20 @@
+package br.com.muller.beerstock.config;
+
+import br.com.muller.beerstock.movement.MovementQueue;
+import br.com.muller.beerstock.reservation.HashedTimerWheel;
+import br.com.muller.beerstock.service.BeerService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MovementConfig {
+
+    @Bean
+    public MovementQueue movementQueue(MovementProperties properties, BeerService beerService) {
+        return new MovementQueue(beerService, new HashedTimerWheel(1, TimeUnit.SECONDS, 512), properties.getPartitions(),
+                properties.getQueueCapacity(), properties.getBatchSize(), properties.getTicketRetentionSeconds(),
+                properties.getShutdownTimeoutSeconds());
+    }
+}
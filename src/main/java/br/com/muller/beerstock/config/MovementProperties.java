@@ -0,0 +1,30 @@
+package br.com.muller.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "beerstock.movements")
+public class MovementProperties {
+
+    private int partitions = 8;
+
+    private int queueCapacity = 1_000;
+
+    /**
+     * Most movements a worker takes from its queue in one go; movements of the same beer are saved together.
+     */
+    private int batchSize = 100;
+
+    /**
+     * How long finished tickets can still be queried.
+     */
+    private long ticketRetentionSeconds = 300;
+
+    /**
+     * How long shutting down waits for queued movements to be applied before rejecting the rest.
+     */
+    private long shutdownTimeoutSeconds = 30;
+}
@@ -0,0 +1,19 @@
+package br.com.muller.beerstock.config;
+
+import br.com.muller.beerstock.outbox.NdjsonFileSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "beerstock.outbox", name = "file")
+    public NdjsonFileSink ndjsonFileSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return new NdjsonFileSink("file", Path.of(properties.getFile()), objectMapper);
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.muller.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "beerstock.outbox")
+public class OutboxProperties {
+
+    private boolean enabled = false;
+
+    private long relayIntervalMillis = 500;
+
+    private int batchSize = 500;
+
+    /**
+     * How long the relay waits at a missing event id for the transaction holding it to commit. Must be
+     * longer than the longest transaction writing outbox events, see spring.transaction.default-timeout.
+     */
+    private long gapTimeoutMillis = 60_000;
+
+    private long pruneIntervalMillis = 60_000;
+
+    /**
+     * NDJSON file the changes are appended to; no file sink when empty.
+     */
+    private String file;
+}
@@ -0,0 +1,55 @@
+package br.com.muller.beerstock.config;
+
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fails the startup of the prod profile when one of the tuned defaults was overridden with an unsafe value.
+ */
+@Lazy(false)
+@Component
+@Profile("prod")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class ProductionSettingsValidator implements InitializingBean {
+
+    private static final Set<String> ALLOWED_DDL_AUTO = Set.of("none", "validate");
+
+    private final Environment environment;
+
+    @Override
+    public void afterPropertiesSet() {
+        List<String> violations = new ArrayList<>();
+        expect(violations, "spring.jpa.open-in-view", "false");
+        expect(violations, "spring.jpa.properties.hibernate.order_updates", "true");
+
+        String ddlAuto = environment.getProperty("spring.jpa.hibernate.ddl-auto");
+        if (ddlAuto == null || !ALLOWED_DDL_AUTO.contains(ddlAuto))
+            violations.add(String.format("spring.jpa.hibernate.ddl-auto must be one of %s but was %s", ALLOWED_DDL_AUTO, ddlAuto));
+
+        Integer batchSize = environment.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size", Integer.class);
+        if (batchSize == null || batchSize < 2)
+            violations.add(String.format("spring.jpa.properties.hibernate.jdbc.batch_size must be at least 2 but was %s", batchSize));
+
+        Integer poolSize = environment.getProperty(DataSourcePoolSizing.MAXIMUM_POOL_SIZE_PROPERTY, Integer.class);
+        if (poolSize != null && poolSize < 2)
+            violations.add(String.format("%s must be at least 2 but was %s", DataSourcePoolSizing.MAXIMUM_POOL_SIZE_PROPERTY, poolSize));
+
+        if (!violations.isEmpty())
+            throw new IllegalStateException("Invalid production settings: " + String.join("; ", violations));
+    }
+
+    private void expect(List<String> violations, String property, String expected) {
+        String value = environment.getProperty(property);
+        if (!expected.equalsIgnoreCase(value))
+            violations.add(String.format("%s must be %s but was %s", property, expected, value));
+    }
+}
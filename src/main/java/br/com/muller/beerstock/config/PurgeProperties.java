@@ -0,0 +1,26 @@
+package br.com.muller.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "beerstock.purge")
+public class PurgeProperties {
+
+    /**
+     * When soft-deleted beers are removed for good; every 15 minutes between 1 and 6 am by default.
+     */
+    private String cron = "0 */15 1-5 * * *";
+
+    /**
+     * Rows removed per statement, each in its own transaction.
+     */
+    private int chunkSize = 1_000;
+
+    /**
+     * Pause between chunks so live traffic is not starved.
+     */
+    private long pauseMillis = 100;
+}
@@ -0,0 +1,56 @@
+package br.com.muller.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "beerstock.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private int maxTrackedClients = 10_000;
+
+    /**
+     * Addresses of the reverse proxies whose {@code X-Forwarded-For} is believed; requests from anywhere
+     * else are limited by their remote address.
+     */
+    private Set<String> trustedProxies = new HashSet<>();
+
+    private Budget read = new Budget(200, 400, 5_000, 10_000);
+
+    private Budget write = new Budget(20, 40, 500, 1_000);
+
+    private Concurrency concurrency = new Concurrency();
+
+    @Data
+    public static class Budget {
+        private double perClientRate;
+        private int perClientBurst;
+        private double globalRate;
+        private int globalBurst;
+
+        public Budget() {
+        }
+
+        public Budget(double perClientRate, int perClientBurst, double globalRate, int globalBurst) {
+            this.perClientRate = perClientRate;
+            this.perClientBurst = perClientBurst;
+            this.globalRate = globalRate;
+            this.globalBurst = globalBurst;
+        }
+    }
+
+    @Data
+    public static class Concurrency {
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        private int maxLimit = 200;
+        private long latencyTargetMillis = 50;
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.muller.beerstock.config;
+
+import br.com.muller.beerstock.routing.ReadYourWritesTracker;
+import br.com.muller.beerstock.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@Profile("replicas")
+public class ReplicaRoutingConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaRoutingProperties properties) {
+        return new ReadYourWritesTracker(properties.getStickinessMillis());
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaRoutingProperties properties,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 Environment environment,
+                                 ObjectProvider<DataSourcePoolSizing> poolSizing) {
+        Binder binder = Binder.get(environment);
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++)
+            replicas.add(buildDataSource(properties.getReplicas().get(i), "replica-" + i, binder, poolSizing));
+        DataSource primary = buildDataSource(properties.getPrimary(), "primary", binder, poolSizing);
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, replicas, readYourWritesTracker);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Builds one pool with the same {@code spring.datasource.hikari.*} settings the single-database setup gets
+     * (auto-commit, timeouts, sizing), so routing to several databases does not silently change pool behaviour.
+     */
+    private DataSource buildDataSource(ReplicaRoutingProperties.Connection connection,
+                                       String role,
+                                       Binder binder,
+                                       ObjectProvider<DataSourcePoolSizing> poolSizing) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(connection.getUrl())
+                .username(connection.getUsername())
+                .password(connection.getPassword())
+                .build();
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(dataSource));
+        if (dataSource.getPoolName() != null)
+            dataSource.setPoolName(dataSource.getPoolName() + "-" + role);
+        poolSizing.ifAvailable(sizing -> sizing.applyTo(dataSource));
+        return dataSource;
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.muller.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "beerstock.datasource")
+public class ReplicaRoutingProperties {
+
+    private Connection primary = new Connection();
+
+    private List<Connection> replicas = new ArrayList<>();
+
+    private long stickinessMillis = 2_000;
+
+    private long healthCheckIntervalMillis = 5_000;
+
+    @Data
+    public static class Connection {
+        private String url;
+        private String username = "sa";
+        private String password = "";
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.muller.beerstock.config;
+
+import br.com.muller.beerstock.reservation.HashedTimerWheel;
+import br.com.muller.beerstock.reservation.ReservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ReservationConfig {
+
+    @Bean(destroyMethod = "stop")
+    public ReservationRegistry reservationRegistry(@Value("${beerstock.reservation.tick-millis:100}") long tickMillis,
+                                                   @Value("${beerstock.reservation.ticks-per-wheel:512}") int ticksPerWheel) {
+        return new ReservationRegistry(new HashedTimerWheel(tickMillis, TimeUnit.MILLISECONDS, ticksPerWheel));
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.muller.beerstock.config;
+
+import br.com.muller.beerstock.repository.BeerRepository;
+import br.com.muller.beerstock.sharding.ClusterAccessFilter;
+import br.com.muller.beerstock.sharding.ShardForwarder;
+import br.com.muller.beerstock.sharding.ShardRouter;
+import br.com.muller.beerstock.sharding.ShardRoutingFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+@Configuration
+@ConditionalOnProperty(name = "beerstock.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShardRoutingFilter> shardRoutingFilter(ShardRouter router, ShardForwarder forwarder,
+                                                                         BeerRepository beerRepository, ObjectMapper objectMapper) {
+        FilterRegistrationBean<ShardRoutingFilter> registration =
+                new FilterRegistrationBean<>(new ShardRoutingFilter(router, forwarder, beerRepository, objectMapper));
+        registration.addUrlPatterns("/api/v1/beers", "/api/v1/beers/*");
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ClusterAccessFilter> clusterAccessFilter(ShardRouter router, ShardingProperties properties) {
+        FilterRegistrationBean<ClusterAccessFilter> registration =
+                new FilterRegistrationBean<>(new ClusterAccessFilter(router, Set.copyOf(properties.getAdminAddresses())));
+        registration.addUrlPatterns("/api/v1/cluster/*");
+        return registration;
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.muller.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "beerstock.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    private String nodeId;
+
+    /**
+     * Picks the id range of this node (index * 2^40), so ids stay unique across the cluster.
+     */
+    private int nodeIndex = 0;
+
+    private int virtualNodes = 128;
+
+    private long forwardTimeoutMillis = 2_000;
+
+    /**
+     * Node id to base url (http://host:port) of every node of the cluster, this one included.
+     */
+    private Map<String, String> nodes = new LinkedHashMap<>();
+
+    /**
+     * Addresses besides the cluster nodes allowed to call /api/v1/cluster, e.g. the operator adding nodes.
+     */
+    private Set<String> adminAddresses = new HashSet<>();
+}
@@ -0,0 +1,23 @@
+package br.com.muller.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "beerstock.snapshots")
+public class SnapshotProperties {
+
+    /**
+     * Time between snapshots, which bounds the deltas replayed by a point-in-time query.
+     */
+    private long intervalMillis = 3_600_000;
+
+    /**
+     * How long stock changes are buffered in memory before being written as deltas.
+     */
+    private long deltaFlushMillis = 1_000;
+
+    private int retentionDays = 400;
+}
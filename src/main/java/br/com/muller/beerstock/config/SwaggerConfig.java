@@ -1,5 +1,6 @@
 package br.com.muller.beerstock.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import springfox.documentation.builders.ApiInfoBuilder;
@@ -14,6 +15,7 @@ import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
 @Configuration
 @EnableSwagger2
+@ConditionalOnProperty(name = "beerstock.swagger.enabled", havingValue = "true", matchIfMissing = true)
 public class SwaggerConfig {
 
     private static final String BASE_PACKAGE = "br.com.muller.beerstock.controller";
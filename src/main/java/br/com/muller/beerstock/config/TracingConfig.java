@@ -0,0 +1,53 @@
+package br.com.muller.beerstock.config;
+
+import br.com.muller.beerstock.tracing.SlowOperationLog;
+import br.com.muller.beerstock.tracing.Tracer;
+import br.com.muller.beerstock.tracing.TracingAspect;
+import br.com.muller.beerstock.tracing.TracingDataSource;
+import br.com.muller.beerstock.tracing.TracingFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "beerstock.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    public Tracer tracer() {
+        return new Tracer();
+    }
+
+    @Bean
+    public TracingAspect tracingAspect(Tracer tracer) {
+        return new TracingAspect(tracer);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(Tracer tracer, ObjectMapper objectMapper, TracingProperties properties) {
+        FilterRegistrationBean<TracingFilter> registration =
+                new FilterRegistrationBean<>(new TracingFilter(tracer, new SlowOperationLog(objectMapper), properties));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public static BeanPostProcessor tracingDataSourcePostProcessor(ObjectProvider<Tracer> tracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource && !(bean instanceof TracingDataSource)
+                        ? new TracingDataSource((DataSource) bean, tracer.getObject())
+                        : bean;
+            }
+        };
+    }
+}
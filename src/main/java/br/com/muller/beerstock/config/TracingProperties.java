@@ -0,0 +1,23 @@
+package br.com.muller.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "beerstock.tracing")
+public class TracingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Share of requests without an upstream sampling decision whose spans are recorded, from 0 to 1.
+     */
+    private double sampleRate = 0.0;
+
+    /**
+     * Requests taking at least this long are logged as slow operations, with their spans when sampled.
+     */
+    private long slowThresholdMillis = 500;
+}
@@ -0,0 +1,23 @@
+package br.com.muller.beerstock.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stops the JVM as soon as the application is ready, so a training run can dump
+ * its class-data-sharing archive (see the cds-training-run execution of the cds Maven profile).
+ */
+@Lazy(false)
+@Component
+@ConditionalOnProperty(name = "beerstock.startup.training-run", havingValue = "true")
+public class TrainingRunExit implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
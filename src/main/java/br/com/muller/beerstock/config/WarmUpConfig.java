@@ -0,0 +1,20 @@
+package br.com.muller.beerstock.config;
+
+import br.com.muller.beerstock.warmup.HotBeerTracker;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.nio.file.Path;
+
+@Configuration
+public class WarmUpConfig {
+
+    @Lazy(false)
+    @Bean(destroyMethod = "save")
+    public HotBeerTracker hotBeerTracker(WarmUpProperties properties) {
+        String file = properties.getHotBeersFile();
+        return new HotBeerTracker(file == null || file.isBlank() ? null : Path.of(file),
+                properties.getMaxTrackedBeers(), properties.getPreloadBeers());
+    }
+}
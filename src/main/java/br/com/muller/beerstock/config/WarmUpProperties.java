@@ -0,0 +1,40 @@
+package br.com.muller.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "beerstock.warmup")
+public class WarmUpProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Upper bound for the whole warm-up; the instance reports ready once it is over either way.
+     */
+    private long timeoutMillis = 30_000;
+
+    /**
+     * Connections opened at once in every pool (primary and each replica) so they are held before the first request.
+     */
+    private int connections = 10;
+
+    private int preloadBeers = 1_000;
+
+    /**
+     * Synthetic lookups and mappings run to get the hot paths compiled.
+     */
+    private int iterations = 10_000;
+
+    /**
+     * File keeping the most requested beer names across restarts; the first beers of the table are
+     * preloaded instead when empty or missing.
+     */
+    private String hotBeersFile;
+
+    private int maxTrackedBeers = 10_000;
+
+    private long hotBeersSaveMillis = 300_000;
+}
@@ -0,0 +1,49 @@
+package br.com.muller.beerstock.config;
+
+import br.com.muller.beerstock.json.BeerJsonHttpMessageConverter;
+import br.com.muller.beerstock.json.BeerJsonWriter;
+import br.com.muller.beerstock.ratelimit.RateLimitInterceptor;
+import br.com.muller.beerstock.routing.ReadYourWritesInterceptor;
+import br.com.muller.beerstock.routing.ReadYourWritesTracker;
+import br.com.muller.beerstock.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+@Configuration
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class WebConfig implements WebMvcConfigurer {
+
+    private static final String BEER_API_PATH_PATTERN = "/api/v1/beers/**";
+    private static final String GRAPHQL_PATH = "/api/v1/graphql";
+
+    private final RateLimitProperties rateLimitProperties;
+    private final ObjectProvider<ReadYourWritesTracker> readYourWritesTracker;
+    private final ObjectProvider<ShardRouter> shardRouter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (rateLimitProperties.isEnabled()) {
+            ShardRouter router = shardRouter.getIfAvailable();
+            Predicate<String> clusterNode = router == null ? address -> false : router::isNodeAddress;
+            registry.addInterceptor(new RateLimitInterceptor(rateLimitProperties, clusterNode))
+                    .addPathPatterns(BEER_API_PATH_PATTERN, GRAPHQL_PATH);
+        }
+        readYourWritesTracker.ifAvailable(tracker -> registry.addInterceptor(new ReadYourWritesInterceptor(tracker))
+                .addPathPatterns(BEER_API_PATH_PATTERN, GRAPHQL_PATH));
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new BeerJsonHttpMessageConverter(new BeerJsonWriter(objectMapper.getFactory())));
+    }
+}
@@ -1,16 +1,29 @@
 package br.com.muller.beerstock.controller;
 
 import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.dto.BulkDeleteRequestDTO;
+import br.com.muller.beerstock.dto.BulkDeleteResultDTO;
+import br.com.muller.beerstock.dto.MovementRequestDTO;
+import br.com.muller.beerstock.dto.MovementTicketDTO;
 import br.com.muller.beerstock.dto.QuantityDTO;
+import br.com.muller.beerstock.dto.ReservationDTO;
+import br.com.muller.beerstock.dto.ReservationRequestDTO;
+import br.com.muller.beerstock.dto.StockSnapshotDTO;
 import br.com.muller.beerstock.exception.*;
+import br.com.muller.beerstock.movement.MovementQueue;
+import br.com.muller.beerstock.movement.StockMovement;
 import br.com.muller.beerstock.service.BeerService;
+import br.com.muller.beerstock.snapshot.StockSnapshotService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/beers")
@@ -18,13 +31,20 @@ import java.util.List;
 public class BeerController implements BeerControllerDocs{
 
     private final BeerService beerService;
+    private final MovementQueue movementQueue;
+    private final StockSnapshotService stockSnapshotService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public BeerDTO createBeer(@RequestBody @Valid BeerDTO beerDTO) throws BeerAlreadyRegisteredException {
+    public BeerDTO createBeer(@RequestBody @Valid BeerDTO beerDTO) throws BeerAlreadyRegisteredException, BeerCapacityExceededException {
         return beerService.createBeer(beerDTO);
     }
 
+    @GetMapping("/snapshot")
+    public StockSnapshotDTO snapshotAt(@RequestParam(required = false) Instant at) throws SnapshotNotFoundException {
+        return stockSnapshotService.quantitiesAt(at == null ? Instant.now() : at);
+    }
+
     @GetMapping("/{name}")
     public BeerDTO findByName(@PathVariable String name) throws BeerNotFoundException {
         return beerService.findByName(name);
@@ -38,12 +58,17 @@ public class BeerController implements BeerControllerDocs{
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteById(@PathVariable Long id) throws BeerNotFoundException {
-        beerService.deleteById(id);
+    public void deleteById(@PathVariable Long id, @RequestParam(defaultValue = "false") boolean soft) throws BeerNotFoundException {
+        beerService.deleteById(id, soft);
+    }
+
+    @PostMapping("/deletions")
+    public BulkDeleteResultDTO deleteBeers(@RequestBody @Valid BulkDeleteRequestDTO deleteRequest) {
+        return beerService.deleteBeers(deleteRequest);
     }
 
     @PatchMapping("/{id}/increment")
-    public BeerDTO increment(@PathVariable Long id,@RequestBody @Valid QuantityDTO quantityToIncrement) throws BeerNotFoundException, BeerStockExceededException, QuantityLessThanZeroException {
+    public BeerDTO increment(@PathVariable Long id,@RequestBody @Valid QuantityDTO quantityToIncrement) throws BeerNotFoundException, BeerStockExceededException, QuantityLessThanZeroException, BeerCapacityExceededException {
         return beerService.increment(id, quantityToIncrement.getQuantity());
     }
 
@@ -52,5 +77,36 @@ public class BeerController implements BeerControllerDocs{
         return beerService.decrement(id, quantityToDecrement.getQuantity());
     }
 
+    @PostMapping("/{id}/movements")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public MovementTicketDTO submitMovement(@PathVariable Long id, @RequestBody @Valid MovementRequestDTO movementRequest) throws MovementQueueFullException {
+        return movementQueue.submit(id, movementRequest.getType(), movementRequest.getQuantity()).toTicketDTO();
+    }
+
+    @GetMapping("/{id}/movements/{ticket}")
+    public MovementTicketDTO findMovement(@PathVariable Long id, @PathVariable UUID ticket) throws MovementNotFoundException {
+        return movementQueue.find(ticket)
+                .filter(movement -> movement.getBeerId().equals(id))
+                .map(StockMovement::toTicketDTO)
+                .orElseThrow(() -> new MovementNotFoundException(id, ticket));
+    }
+
+    @PostMapping("/{id}/reservations")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ReservationDTO reserve(@PathVariable Long id, @RequestBody @Valid ReservationRequestDTO reservationRequest) throws BeerNotFoundException, BeerStockLessThenZeroException, QuantityLessThanZeroException {
+        return beerService.reserve(id, reservationRequest.getQuantity(), Duration.ofSeconds(reservationRequest.getTtlSeconds()));
+    }
+
+    @PostMapping("/{id}/reservations/{reservationId}/confirm")
+    public BeerDTO confirmReservation(@PathVariable Long id, @PathVariable UUID reservationId) throws BeerNotFoundException, ReservationNotFoundException, BeerStockLessThenZeroException {
+        return beerService.confirmReservation(id, reservationId);
+    }
+
+    @DeleteMapping("/{id}/reservations/{reservationId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void cancelReservation(@PathVariable Long id, @PathVariable UUID reservationId) throws ReservationNotFoundException {
+        beerService.cancelReservation(id, reservationId);
+    }
+
 
 }
@@ -1,7 +1,14 @@
 package br.com.muller.beerstock.controller;
 
 import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.dto.BulkDeleteRequestDTO;
+import br.com.muller.beerstock.dto.BulkDeleteResultDTO;
+import br.com.muller.beerstock.dto.MovementRequestDTO;
+import br.com.muller.beerstock.dto.MovementTicketDTO;
 import br.com.muller.beerstock.dto.QuantityDTO;
+import br.com.muller.beerstock.dto.ReservationDTO;
+import br.com.muller.beerstock.dto.ReservationRequestDTO;
+import br.com.muller.beerstock.dto.StockSnapshotDTO;
 import br.com.muller.beerstock.entity.Beer;
 import br.com.muller.beerstock.exception.*;
 import io.swagger.annotations.Api;
@@ -11,7 +18,9 @@ import io.swagger.annotations.ApiResponses;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.PathVariable;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
 
 @Api("Manages beer stock")
 public interface BeerControllerDocs {
@@ -19,9 +28,9 @@ public interface BeerControllerDocs {
     @ApiOperation("Beer creation operation")
     @ApiResponses(value = {
             @ApiResponse(code = 201, message = "Success beer creation"),
-            @ApiResponse(code = 400, message = "Missing required fields or wrong field range value.")
+            @ApiResponse(code = 400, message = "Missing required fields, wrong field range value or no room left in the beer's storage.")
     })
-    BeerDTO createBeer(BeerDTO beerDTO) throws BeerAlreadyRegisteredException;
+    BeerDTO createBeer(BeerDTO beerDTO) throws BeerAlreadyRegisteredException, BeerCapacityExceededException;
 
     @ApiOperation("Returns a beer found by a given name")
     @ApiResponses(value = {
@@ -34,20 +43,27 @@ public interface BeerControllerDocs {
     @ApiResponse(code = 200, message = "")
     List<BeerDTO> listBeers();
 
-    @ApiOperation("Delete a beer found by a given valid Id")
+    @ApiOperation("Delete a beer found by a given valid Id, or only flag it as deleted when soft is set")
     @ApiResponses(value = {
             @ApiResponse(code = 204, message = "Success beer deleted in the system"),
             @ApiResponse(code = 404, message = "Beer with given id not found.")
     })
-    void deleteById(@PathVariable Long id) throws BeerNotFoundException;
+    void deleteById(@PathVariable Long id, boolean soft) throws BeerNotFoundException;
+
+    @ApiOperation("Delete every beer matching the given ids, brand or type")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Success matching beers deleted, with their count"),
+            @ApiResponse(code = 400, message = "No ids, brand or type given, or too many ids.")
+    })
+    BulkDeleteResultDTO deleteBeers(BulkDeleteRequestDTO deleteRequest);
 
     @ApiOperation("Increment a beer stock quantity given valid Id and quantity less than max")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Success beer incremented in the system"),
-            @ApiResponse(code = 400, message = "Quantity to increment is greater than max"),
+            @ApiResponse(code = 400, message = "Quantity to increment is greater than max or than the room left in the beer's storage"),
             @ApiResponse(code = 404, message = "Beer with given id not found"),
     })
-    BeerDTO increment(@PathVariable Long id, QuantityDTO quantityToIncrement) throws BeerNotFoundException, BeerStockExceededException, QuantityLessThanZeroException;
+    BeerDTO increment(@PathVariable Long id, QuantityDTO quantityToIncrement) throws BeerNotFoundException, BeerStockExceededException, QuantityLessThanZeroException, BeerCapacityExceededException;
 
     @ApiOperation("Decrement a beer stock quantity given valid Id and quantity greater than 0")
     @ApiResponses(value = {
@@ -56,4 +72,48 @@ public interface BeerControllerDocs {
             @ApiResponse(code = 404, message = "Beer with given id not found"),
     })
     BeerDTO decrement(@PathVariable Long id, QuantityDTO quantityToDecrement) throws BeerNotFoundException, BeerStockLessThenZeroException, QuantityLessThanZeroException;
+
+    @ApiOperation("Queue an increment or decrement of a beer stock and return a ticket to follow it")
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "Success movement queued"),
+            @ApiResponse(code = 400, message = "Missing movement type or wrong quantity range value"),
+            @ApiResponse(code = 503, message = "Too many movements pending for this beer"),
+    })
+    MovementTicketDTO submitMovement(@PathVariable Long id, MovementRequestDTO movementRequest) throws MovementQueueFullException;
+
+    @ApiOperation("Returns the status of a queued movement")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Success movement found, applied, rejected or still pending"),
+            @ApiResponse(code = 404, message = "Movement with given ticket not found"),
+    })
+    MovementTicketDTO findMovement(@PathVariable Long id, @PathVariable UUID ticket) throws MovementNotFoundException;
+
+    @ApiOperation("Hold a beer stock quantity for a limited time without decrementing it")
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Success beer quantity held"),
+            @ApiResponse(code = 400, message = "Quantity to hold is greater than the available quantity"),
+            @ApiResponse(code = 404, message = "Beer with given id not found"),
+    })
+    ReservationDTO reserve(@PathVariable Long id, ReservationRequestDTO reservationRequest) throws BeerNotFoundException, BeerStockLessThenZeroException, QuantityLessThanZeroException;
+
+    @ApiOperation("Decrement a beer stock by the quantity of a reservation and release it")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Success reservation confirmed"),
+            @ApiResponse(code = 404, message = "Beer or reservation not found, or reservation expired"),
+    })
+    BeerDTO confirmReservation(@PathVariable Long id, @PathVariable UUID reservationId) throws BeerNotFoundException, ReservationNotFoundException, BeerStockLessThenZeroException;
+
+    @ApiOperation("Release a reservation without changing the beer stock")
+    @ApiResponses(value = {
+            @ApiResponse(code = 204, message = "Success reservation cancelled"),
+            @ApiResponse(code = 404, message = "Reservation not found or expired"),
+    })
+    void cancelReservation(@PathVariable Long id, @PathVariable UUID reservationId) throws ReservationNotFoundException;
+
+    @ApiOperation("Returns the stock quantity of every beer at a given instant, now by default")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Success stock quantities rebuilt from the nearest snapshot"),
+            @ApiResponse(code = 404, message = "No snapshot taken before the given instant"),
+    })
+    StockSnapshotDTO snapshotAt(Instant at) throws SnapshotNotFoundException;
 }
@@ -0,0 +1,66 @@
+package br.com.muller.beerstock.controller;
+
+import br.com.muller.beerstock.dto.ClusterBeerDTO;
+import br.com.muller.beerstock.dto.ClusterNodeDTO;
+import br.com.muller.beerstock.exception.BeerCapacityExceededException;
+import br.com.muller.beerstock.service.BeerService;
+import br.com.muller.beerstock.sharding.ShardForwarder;
+import br.com.muller.beerstock.sharding.ShardRebalancer;
+import br.com.muller.beerstock.sharding.ShardRouter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/cluster")
+@ConditionalOnProperty(name = "beerstock.sharding.enabled", havingValue = "true")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class ClusterController {
+
+    private static final String NODES_PATH = "/api/v1/cluster/nodes";
+
+    private final ShardRouter shardRouter;
+    private final ShardForwarder shardForwarder;
+    private final ShardRebalancer shardRebalancer;
+    private final BeerService beerService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/nodes")
+    public Map<String, String> listNodes() {
+        return shardRouter.getNodes();
+    }
+
+    /**
+     * Adds a node to the ring, tells the other nodes about it (unless this call was itself forwarded)
+     * and hands over the local beers the new node now owns.
+     */
+    @PostMapping("/nodes")
+    public int joinNode(@RequestBody @Valid ClusterNodeDTO node,
+                        @RequestHeader(name = ShardForwarder.FORWARDED_HEADER, required = false) String forwarded) throws JsonProcessingException {
+        boolean known = shardRouter.getNodes().containsKey(node.getNodeId());
+        shardRouter.addNode(node.getNodeId(), node.getUrl());
+        if (forwarded == null && !known) {
+            byte[] body = objectMapper.writeValueAsBytes(node);
+            shardRouter.peers()
+                    .stream()
+                    .filter(peer -> !peer.equals(node.getNodeId()))
+                    .map(peer -> shardForwarder.send(shardRouter.urlOf(peer), HttpMethod.POST.name(), NODES_PATH, body))
+                    .forEach(response -> response.join());
+        }
+        return shardRebalancer.rebalance();
+    }
+
+    @PostMapping("/beers")
+    @ResponseStatus(HttpStatus.CREATED)
+    public void importBeer(@RequestBody @Valid ClusterBeerDTO clusterBeerDTO) throws BeerCapacityExceededException {
+        beerService.importBeer(clusterBeerDTO.getBeer(), clusterBeerDTO.getVersion());
+    }
+}
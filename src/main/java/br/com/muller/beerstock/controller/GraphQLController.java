@@ -0,0 +1,35 @@
+package br.com.muller.beerstock.controller;
+
+import br.com.muller.beerstock.dto.GraphQLRequestDTO;
+import br.com.muller.beerstock.graphql.BeerDataFetchers;
+import graphql.ExecutionInput;
+import graphql.GraphQL;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/graphql")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class GraphQLController {
+
+    private final GraphQL graphQL;
+    private final BeerDataFetchers beerDataFetchers;
+
+    @PostMapping
+    public Map<String, Object> execute(@RequestBody @Valid GraphQLRequestDTO request) {
+        ExecutionInput input = ExecutionInput.newExecutionInput()
+                .query(request.getQuery())
+                .operationName(request.getOperationName())
+                .variables(request.getVariables() == null ? Map.of() : request.getVariables())
+                .dataLoaderRegistry(beerDataFetchers.newDataLoaderRegistry())
+                .build();
+        return graphQL.execute(input).toSpecification();
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.muller.beerstock.controller;
+
+import br.com.muller.beerstock.dto.ErrorDTO;
+import br.com.muller.beerstock.exception.StockLimitException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Answers stock limit rejections with a small body right away, instead of the error dispatch to
+ * /error that a @ResponseStatus exception otherwise goes through.
+ */
+@RestControllerAdvice
+public class StockLimitExceptionHandler {
+
+    @ExceptionHandler(StockLimitException.class)
+    public ResponseEntity<ErrorDTO> handleStockLimit(StockLimitException exception) {
+        return ResponseEntity.badRequest().body(new ErrorDTO(HttpStatus.BAD_REQUEST.value(), exception.getMessage()));
+    }
+}
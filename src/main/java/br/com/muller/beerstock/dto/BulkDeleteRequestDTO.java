@@ -0,0 +1,38 @@
+package br.com.muller.beerstock.dto;
+
+import br.com.muller.beerstock.enums.BeerType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Beers to delete, given by id or by brand and/or type; criteria given together must all match.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkDeleteRequestDTO {
+
+    @Size(max = 10_000)
+    private List<Long> ids;
+
+    @Size(min = 1, max = 200)
+    private String brand;
+
+    private BeerType type;
+
+    private boolean soft;
+
+    @JsonIgnore
+    @AssertTrue(message = "ids, brand or type must be given")
+    public boolean isCriteriaPresent() {
+        return (ids != null && !ids.isEmpty()) || brand != null || type != null;
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.muller.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkDeleteResultDTO {
+
+    private int deleted;
+
+    private boolean soft;
+}
@@ -0,0 +1,26 @@
+package br.com.muller.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+/**
+ * A beer handed over between nodes, with the version it had on the node giving it away.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterBeerDTO {
+
+    @NotNull
+    @Valid
+    private BeerDTO beer;
+
+    @NotNull
+    private Long version;
+}
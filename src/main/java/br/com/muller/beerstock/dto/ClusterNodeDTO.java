@@ -0,0 +1,21 @@
+package br.com.muller.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterNodeDTO {
+
+    @NotBlank
+    private String nodeId;
+
+    @NotBlank
+    private String url;
+}
@@ -0,0 +1,15 @@
+package br.com.muller.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ErrorDTO {
+
+    private int status;
+
+    private String message;
+}
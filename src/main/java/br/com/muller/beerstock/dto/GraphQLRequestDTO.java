@@ -0,0 +1,23 @@
+package br.com.muller.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class GraphQLRequestDTO {
+
+    @NotNull
+    private String query;
+
+    private String operationName;
+
+    private Map<String, Object> variables;
+}
@@ -0,0 +1,25 @@
+package br.com.muller.beerstock.dto;
+
+import br.com.muller.beerstock.enums.MovementType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MovementRequestDTO {
+
+    @NotNull
+    private MovementType type;
+
+    @Max(100)
+    @Min(0)
+    private int quantity;
+}
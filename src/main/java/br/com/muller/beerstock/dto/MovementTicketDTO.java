@@ -0,0 +1,31 @@
+package br.com.muller.beerstock.dto;
+
+import br.com.muller.beerstock.enums.MovementStatus;
+import br.com.muller.beerstock.enums.MovementType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MovementTicketDTO {
+
+    private UUID ticket;
+
+    private Long beerId;
+
+    private MovementType type;
+
+    private int quantity;
+
+    private MovementStatus status;
+
+    private String error;
+
+    private BeerDTO beer;
+}
@@ -0,0 +1,26 @@
+package br.com.muller.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationDTO {
+
+    private UUID id;
+
+    private Long beerId;
+
+    private int quantity;
+
+    private Instant expiresAt;
+
+    private int available;
+}
@@ -0,0 +1,25 @@
+package br.com.muller.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationRequestDTO {
+
+    @Max(100)
+    @Min(1)
+    private int quantity;
+
+    @Max(3600)
+    @Min(1)
+    @Builder.Default
+    private int ttlSeconds = 600;
+}
@@ -0,0 +1,22 @@
+package br.com.muller.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockSnapshotDTO {
+
+    private Instant at;
+
+    private Instant snapshotTakenAt;
+
+    private List<StockLevelDTO> beers;
+}
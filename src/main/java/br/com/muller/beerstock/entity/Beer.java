@@ -4,13 +4,19 @@ import br.com.muller.beerstock.enums.BeerType;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
 
+/**
+ * Soft-deleted rows keep their <code>deleted</code> column set until SoftDeletePurgeJob removes them;
+ * the column is left unmapped so every query on the entity simply skips them.
+ */
 @Data
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
+@Where(clause = "deleted = false")
 public class Beer {
 
     @Id
@@ -33,4 +39,7 @@ public class Beer {
     @Column(nullable = false)
     private BeerType type;
 
+    @Version
+    private Long version;
+
 }
@@ -0,0 +1,43 @@
+package br.com.muller.beerstock.entity;
+
+import br.com.muller.beerstock.event.BeerChangedEvent.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * A beer change written in the transaction that made it; ids give the order consumers receive changes in.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeType type;
+
+    @Column(nullable = false)
+    private Long beerId;
+
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * The beer as JSON, its last known state for deletions.
+     */
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+}
@@ -0,0 +1,30 @@
+package br.com.muller.beerstock.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.Instant;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxOffset {
+
+    @Id
+    private String consumer;
+
+    /**
+     * Id of the last event the consumer received.
+     */
+    @Column(nullable = false)
+    private long lastEventId;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+}
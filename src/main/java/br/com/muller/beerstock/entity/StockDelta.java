@@ -0,0 +1,34 @@
+package br.com.muller.beerstock.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockDelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long beerId;
+
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * Quantity after the change, null when the beer was deleted.
+     */
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private Instant recordedAt;
+
+}
@@ -0,0 +1,33 @@
+package br.com.muller.beerstock.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Instant takenAt;
+
+    @Column(nullable = false)
+    private int beerCount;
+
+    /**
+     * Stock levels encoded by {@link br.com.muller.beerstock.snapshot.StockSnapshotCodec}.
+     */
+    @Lob
+    @Column(nullable = false)
+    private byte[] payload;
+
+}
@@ -0,0 +1,7 @@
+package br.com.muller.beerstock.enums;
+
+public enum MovementStatus {
+    PENDING,
+    APPLIED,
+    REJECTED
+}
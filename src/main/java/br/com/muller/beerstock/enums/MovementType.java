@@ -0,0 +1,6 @@
+package br.com.muller.beerstock.enums;
+
+public enum MovementType {
+    INCREMENT,
+    DECREMENT
+}
@@ -0,0 +1,26 @@
+package br.com.muller.beerstock.event;
+
+import br.com.muller.beerstock.dto.BeerDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by BeerService for every committed change of a beer. For deletions {@link #beer} holds the
+ * last known state and {@link #version} is one past its last persisted version.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BeerChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final ChangeType type;
+    private final BeerDTO beer;
+    private final long version;
+}
@@ -0,0 +1,25 @@
+package br.com.muller.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BeerCapacityExceededException extends StockLimitException {
+
+    private final String group;
+    private final long used;
+    private final long limit;
+    private final long quantityToAdd;
+
+    public BeerCapacityExceededException(String group, long used, long limit, long quantityToAdd){
+        this.group = group;
+        this.used = used;
+        this.limit = limit;
+        this.quantityToAdd = quantityToAdd;
+    }
+
+    @Override
+    protected String buildMessage() {
+        return "Storage " + group + " holds " + used + " of " + limit + " units and has no room for " + quantityToAdd + " more.";
+    }
+}
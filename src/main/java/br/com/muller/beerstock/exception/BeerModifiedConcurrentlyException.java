@@ -0,0 +1,15 @@
+package br.com.muller.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Another instance changed the beer between our read and our write. Unchecked because it is raised
+ * from the save callbacks run by the capacity guard; the client may simply retry.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class BeerModifiedConcurrentlyException extends RuntimeException {
+    public BeerModifiedConcurrentlyException(Long id, Throwable cause){
+        super(String.format("Beer with id %s was changed by another request, please retry.", id), cause);
+    }
+}
@@ -4,10 +4,18 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.BAD_REQUEST)
-public class BeerStockExceededException extends Exception{
+public class BeerStockExceededException extends StockLimitException {
+
+    private final Long id;
+    private final int quantityToIncrement;
 
     public BeerStockExceededException (Long id, int quantityToIncrement){
-        super(String.format("Beers with %s ID to increment informed exceeds the max stock capacity: %s", id, quantityToIncrement));
+        this.id = id;
+        this.quantityToIncrement = quantityToIncrement;
     }
 
+    @Override
+    protected String buildMessage() {
+        return "Beers with " + id + " ID to increment informed exceeds the max stock capacity: " + quantityToIncrement;
+    }
 }
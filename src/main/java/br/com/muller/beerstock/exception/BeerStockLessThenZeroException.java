@@ -4,10 +4,18 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.BAD_REQUEST)
-public class BeerStockLessThenZeroException extends Exception{
+public class BeerStockLessThenZeroException extends StockLimitException {
+
+    private final Long id;
+    private final int quantityToDecrement;
 
     public BeerStockLessThenZeroException (Long id, int quantityToDecrement){
-        super(String.format("Beers with %s ID to increment informed is less then 0 after decrement: %s", id, quantityToDecrement));
+        this.id = id;
+        this.quantityToDecrement = quantityToDecrement;
     }
 
+    @Override
+    protected String buildMessage() {
+        return "Beers with " + id + " ID to increment informed is less then 0 after decrement: " + quantityToDecrement;
+    }
 }
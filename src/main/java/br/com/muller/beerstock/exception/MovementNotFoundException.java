@@ -0,0 +1,13 @@
+package br.com.muller.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.UUID;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class MovementNotFoundException extends Exception {
+    public MovementNotFoundException(Long beerId, UUID ticket){
+        super(String.format("Movement %s of beer with id %s not found or no longer kept.", ticket, beerId));
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.muller.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class MovementQueueFullException extends Exception {
+    public MovementQueueFullException(Long beerId){
+        super(String.format("Too many pending movements for beer with id %s, try again later.", beerId));
+    }
+}
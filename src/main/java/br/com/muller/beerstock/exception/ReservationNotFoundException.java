@@ -0,0 +1,13 @@
+package br.com.muller.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.UUID;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ReservationNotFoundException extends Exception {
+    public ReservationNotFoundException(Long beerId, UUID reservationId){
+        super(String.format("Reservation %s for beer with id %s not found or already expired.", reservationId, beerId));
+    }
+}
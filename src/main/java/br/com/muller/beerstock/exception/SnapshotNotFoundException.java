@@ -0,0 +1,13 @@
+package br.com.muller.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Instant;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class SnapshotNotFoundException extends Exception {
+    public SnapshotNotFoundException(Instant at){
+        super(String.format("No stock snapshot taken at or before %s.", at));
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.muller.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Rejection of a stock change that would break a limit. These are routine under load, so they carry
+ * no stack trace and build their message only when it is read.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public abstract class StockLimitException extends Exception {
+
+    private String message;
+
+    protected StockLimitException() {
+        super(null, null, false, false);
+    }
+
+    @Override
+    public String getMessage() {
+        if (message == null)
+            message = buildMessage();
+        return message;
+    }
+
+    protected abstract String buildMessage();
+}
@@ -0,0 +1,109 @@
+package br.com.muller.beerstock.graphql;
+
+import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.enums.BeerType;
+import br.com.muller.beerstock.repository.BeerFieldsRepository;
+import br.com.muller.beerstock.repository.BeerRepository;
+import br.com.muller.beerstock.service.BeerService;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.SelectedField;
+import org.dataloader.BatchLoaderEnvironment;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.DataLoaderRegistry;
+import org.dataloader.MappedBatchLoaderWithContext;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the beer schema. Lookups by name or id go through per-request DataLoaders, so the lookups
+ * of one query become a single IN query, and only the columns of the selected fields are read.
+ */
+public class BeerDataFetchers {
+
+    static final String BEERS_BY_NAME = "beersByName";
+    static final String BEERS_BY_ID = "beersById";
+
+    private final BeerRepository beerRepository;
+    private final BeerService beerService;
+    private final int maxPageSize;
+
+    public BeerDataFetchers(BeerRepository beerRepository, BeerService beerService, int maxPageSize) {
+        this.beerRepository = beerRepository;
+        this.beerService = beerService;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Loaders hold no cache: a cached beer could miss fields selected by a later lookup of the same key.
+     */
+    public DataLoaderRegistry newDataLoaderRegistry() {
+        DataLoaderOptions options = DataLoaderOptions.newOptions().setCachingEnabled(false);
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        registry.register(BEERS_BY_NAME, DataLoader.newMappedDataLoader(
+                loader(beerRepository::findFieldsByNameIn, "name", String.class), options));
+        registry.register(BEERS_BY_ID, DataLoader.newMappedDataLoader(
+                loader(beerRepository::findFieldsByIdIn, "id", Long.class), options));
+        return registry;
+    }
+
+    public DataFetcher<CompletableFuture<Map<String, Object>>> beer() {
+        return environment -> environment.<String, Map<String, Object>>getDataLoader(BEERS_BY_NAME)
+                .load(environment.getArgument("name"), selectedColumns(environment));
+    }
+
+    public DataFetcher<CompletableFuture<Map<String, Object>>> beerById() {
+        return environment -> environment.<Long, Map<String, Object>>getDataLoader(BEERS_BY_ID)
+                .load(Long.valueOf(environment.<String>getArgument("id")), selectedColumns(environment));
+    }
+
+    public DataFetcher<List<Map<String, Object>>> beers() {
+        return environment -> {
+            int first = environment.<Integer>getArgument("first");
+            if (first < 0 || first > maxPageSize)
+                throw new IllegalArgumentException(String.format("first must be between 0 and %s", maxPageSize));
+            String after = environment.getArgument("after");
+            return beerRepository.findFields(selectedColumns(environment), environment.getArgument("brand"),
+                    environment.<BeerType>getArgument("type"), after == null ? null : Long.valueOf(after), first);
+        };
+    }
+
+    public DataFetcher<BeerDTO> increment() {
+        return environment -> beerService.increment(Long.valueOf(environment.<String>getArgument("id")), environment.getArgument("quantity"));
+    }
+
+    public DataFetcher<BeerDTO> decrement() {
+        return environment -> beerService.decrement(Long.valueOf(environment.<String>getArgument("id")), environment.getArgument("quantity"));
+    }
+
+    private static Set<String> selectedColumns(DataFetchingEnvironment environment) {
+        return environment.getSelectionSet().getImmediateFields().stream()
+                .map(SelectedField::getName)
+                .filter(BeerFieldsRepository.COLUMNS::contains)
+                .collect(Collectors.toSet());
+    }
+
+    private static <K> MappedBatchLoaderWithContext<K, Map<String, Object>> loader(
+            BiFunction<Set<String>, Set<K>, List<Map<String, Object>>> query, String keyColumn, Class<K> keyType) {
+        return (keys, environment) -> {
+            Map<K, Map<String, Object>> beers = new HashMap<>();
+            for (Map<String, Object> beer : query.apply(columnsOf(environment), keys))
+                beers.put(keyType.cast(beer.get(keyColumn)), beer);
+            return CompletableFuture.completedFuture(beers);
+        };
+    }
+
+    private static Set<String> columnsOf(BatchLoaderEnvironment environment) {
+        Set<String> columns = new HashSet<>();
+        environment.getKeyContextsList().forEach(selected -> ((Set<?>) selected).forEach(column -> columns.add((String) column)));
+        return columns;
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.muller.beerstock.graphql;
+
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.FieldComplexityEnvironment;
+
+/**
+ * Every field costs one and a list of beers costs its page size times the fields selected per beer,
+ * so the limit bounds the rows and columns a single query can read.
+ */
+public class BeerQueryComplexity implements FieldComplexityCalculator {
+
+    private static final String BEERS_FIELD = "beers";
+    private static final String FIRST_ARGUMENT = "first";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    @Override
+    public int calculate(FieldComplexityEnvironment environment, int childComplexity) {
+        if (!BEERS_FIELD.equals(environment.getField().getName()))
+            return 1 + childComplexity;
+        Object first = environment.getArguments().get(FIRST_ARGUMENT);
+        int pageSize = first instanceof Integer ? (Integer) first : DEFAULT_PAGE_SIZE;
+        return 1 + Math.max(pageSize, 1) * Math.max(childComplexity, 1);
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.muller.beerstock.graphql;
+
+import br.com.muller.beerstock.dto.GraphQLRequestDTO;
+import br.com.muller.beerstock.utils.CachedBodyRequest;
+import br.com.muller.beerstock.utils.RequestUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import lombok.AllArgsConstructor;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * GraphQL requests are all POSTs, so this tells the rate limiter and read-your-writes whether the operation
+ * about to run is a mutation. Queries count against the read budget and do not pin the client to the
+ * primary; a body that does not parse, or does not pick a single operation, fails anyway and counts as a read.
+ */
+@AllArgsConstructor
+public class GraphQLOperationFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        request.setAttribute(RequestUtils.WRITE_ATTRIBUTE, isMutation(body));
+        chain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    private boolean isMutation(byte[] body) {
+        GraphQLRequestDTO graphQLRequest;
+        Document document;
+        try {
+            graphQLRequest = objectMapper.readValue(body, GraphQLRequestDTO.class);
+            if (graphQLRequest == null || graphQLRequest.getQuery() == null)
+                return false;
+            document = new Parser().parseDocument(graphQLRequest.getQuery());
+        } catch (IOException | InvalidSyntaxException e) {
+            return false;
+        }
+        List<OperationDefinition> operations = document.getDefinitions().stream()
+                .filter(OperationDefinition.class::isInstance)
+                .map(OperationDefinition.class::cast)
+                .filter(operation -> graphQLRequest.getOperationName() == null
+                        || graphQLRequest.getOperationName().equals(operation.getName()))
+                .collect(Collectors.toList());
+        return operations.size() == 1 && operations.get(0).getOperation() == OperationDefinition.Operation.MUTATION;
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.muller.beerstock.grpc;
+
+import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.grpc.proto.Beer;
+import br.com.muller.beerstock.grpc.proto.BeerType;
+
+final class BeerMessages {
+
+    private BeerMessages() {
+    }
+
+    static Beer toMessage(BeerDTO beerDTO) {
+        return Beer.newBuilder()
+                .setId(beerDTO.getId())
+                .setName(beerDTO.getName())
+                .setBrand(beerDTO.getBrand())
+                .setMax(beerDTO.getMax())
+                .setQuantity(beerDTO.getQuantity())
+                .setType(BeerType.valueOf(beerDTO.getType().name()))
+                .build();
+    }
+}
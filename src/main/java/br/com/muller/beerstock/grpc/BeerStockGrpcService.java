@@ -0,0 +1,74 @@
+package br.com.muller.beerstock.grpc;
+
+import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.grpc.proto.Beer;
+import br.com.muller.beerstock.grpc.proto.BeerStockGrpc;
+import br.com.muller.beerstock.grpc.proto.FindByNameRequest;
+import br.com.muller.beerstock.grpc.proto.MovementRequest;
+import br.com.muller.beerstock.grpc.proto.MovementResult;
+import br.com.muller.beerstock.grpc.proto.QuantityRequest;
+import br.com.muller.beerstock.grpc.proto.StockUpdate;
+import br.com.muller.beerstock.grpc.proto.WatchStockRequest;
+import br.com.muller.beerstock.movement.MovementQueue;
+import br.com.muller.beerstock.service.BeerService;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class BeerStockGrpcService extends BeerStockGrpc.BeerStockImplBase {
+
+    private final BeerService beerService;
+    private final MovementQueue movementQueue;
+    private final StockUpdateBroadcaster stockUpdateBroadcaster;
+
+    public BeerStockGrpcService(BeerService beerService, MovementQueue movementQueue, StockUpdateBroadcaster stockUpdateBroadcaster) {
+        this.beerService = beerService;
+        this.movementQueue = movementQueue;
+        this.stockUpdateBroadcaster = stockUpdateBroadcaster;
+    }
+
+    @Override
+    public void findByName(FindByNameRequest request, StreamObserver<Beer> responseObserver) {
+        respond(responseObserver, () -> beerService.findByName(request.getName()));
+    }
+
+    @Override
+    public void increment(QuantityRequest request, StreamObserver<Beer> responseObserver) {
+        respond(responseObserver, () -> beerService.increment(request.getId(), request.getQuantity()));
+    }
+
+    @Override
+    public void decrement(QuantityRequest request, StreamObserver<Beer> responseObserver) {
+        respond(responseObserver, () -> beerService.decrement(request.getId(), request.getQuantity()));
+    }
+
+    @Override
+    public StreamObserver<MovementRequest> applyMovements(StreamObserver<MovementResult> responseObserver) {
+        return new MovementStream(movementQueue, responseObserver);
+    }
+
+    @Override
+    public void watchStock(WatchStockRequest request, StreamObserver<StockUpdate> responseObserver) {
+        stockUpdateBroadcaster.watch(request, (ServerCallStreamObserver<StockUpdate>) responseObserver);
+    }
+
+    private void respond(StreamObserver<Beer> responseObserver, Call call) {
+        Beer beer;
+        try {
+            beer = BeerMessages.toMessage(call.execute());
+        } catch (Exception e) {
+            if (e instanceof RuntimeException)
+                log.warn("gRPC call failed", e);
+            responseObserver.onError(GrpcStatuses.of(e));
+            return;
+        }
+        responseObserver.onNext(beer);
+        responseObserver.onCompleted();
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        BeerDTO execute() throws Exception;
+    }
+}
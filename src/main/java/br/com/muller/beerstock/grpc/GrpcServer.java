@@ -0,0 +1,42 @@
+package br.com.muller.beerstock.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class GrpcServer {
+
+    private final Server server;
+    private final long shutdownGraceMillis;
+
+    public GrpcServer(int port, long shutdownGraceMillis, BindableService... services) {
+        NettyServerBuilder builder = NettyServerBuilder.forPort(port);
+        for (BindableService service : services)
+            builder.addService(service);
+        this.server = builder.build();
+        this.shutdownGraceMillis = shutdownGraceMillis;
+    }
+
+    public void start() throws IOException {
+        server.start();
+        log.info("gRPC server listening on port {}", server.getPort());
+    }
+
+    /**
+     * Lets calls in flight finish within the grace period, then cancels the rest, such as stock watches.
+     */
+    public void stop() throws InterruptedException {
+        server.shutdown();
+        if (!server.awaitTermination(shutdownGraceMillis, TimeUnit.MILLISECONDS))
+            server.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getPort();
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.muller.beerstock.grpc;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Maps exceptions to the gRPC status matching the HTTP status REST clients get for them.
+ */
+final class GrpcStatuses {
+
+    private GrpcStatuses() {
+    }
+
+    static StatusRuntimeException of(Exception exception) {
+        ResponseStatus responseStatus = AnnotatedElementUtils.findMergedAnnotation(exception.getClass(), ResponseStatus.class);
+        HttpStatus httpStatus = responseStatus == null ? HttpStatus.INTERNAL_SERVER_ERROR : responseStatus.code();
+        return statusOf(httpStatus).withDescription(exception.getMessage()).asRuntimeException();
+    }
+
+    private static Status statusOf(HttpStatus httpStatus) {
+        switch (httpStatus) {
+            case BAD_REQUEST:
+                return Status.INVALID_ARGUMENT;
+            case NOT_FOUND:
+                return Status.NOT_FOUND;
+            case CONFLICT:
+                return Status.ABORTED;
+            case SERVICE_UNAVAILABLE:
+                return Status.UNAVAILABLE;
+            default:
+                return Status.INTERNAL;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.muller.beerstock.grpc;
+
+import br.com.muller.beerstock.enums.MovementStatus;
+import br.com.muller.beerstock.enums.MovementType;
+import br.com.muller.beerstock.exception.MovementQueueFullException;
+import br.com.muller.beerstock.grpc.proto.MovementRequest;
+import br.com.muller.beerstock.grpc.proto.MovementResult;
+import br.com.muller.beerstock.movement.MovementQueue;
+import br.com.muller.beerstock.movement.StockMovement;
+import io.grpc.stub.StreamObserver;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One ApplyMovements call. Movements go through the MovementQueue like queued REST movements, and the
+ * call completes once the client is done sending and every movement has its result.
+ */
+class MovementStream implements StreamObserver<MovementRequest> {
+
+    private final MovementQueue movementQueue;
+    private final StreamObserver<MovementResult> responseObserver;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private volatile boolean clientDone;
+
+    MovementStream(MovementQueue movementQueue, StreamObserver<MovementResult> responseObserver) {
+        this.movementQueue = movementQueue;
+        this.responseObserver = responseObserver;
+    }
+
+    @Override
+    public void onNext(MovementRequest request) {
+        pending.incrementAndGet();
+        MovementType type = typeOf(request.getType());
+        if (type == null) {
+            complete(rejected(request, "Unknown movement type " + request.getType()));
+            return;
+        }
+        try {
+            movementQueue.submit(request.getBeerId(), type, request.getQuantity()).getCompletion()
+                    .thenAccept(movement -> complete(resultOf(request, movement)));
+        } catch (MovementQueueFullException e) {
+            complete(rejected(request, e.getMessage()));
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        finished.set(true);
+    }
+
+    @Override
+    public void onCompleted() {
+        clientDone = true;
+        if (pending.get() == 0)
+            finish();
+    }
+
+    private void complete(MovementResult result) {
+        if (finished.get())
+            return;
+        synchronized (responseObserver) {
+            responseObserver.onNext(result);
+        }
+        if (pending.decrementAndGet() == 0 && clientDone)
+            finish();
+    }
+
+    private void finish() {
+        if (finished.compareAndSet(false, true)) {
+            synchronized (responseObserver) {
+                responseObserver.onCompleted();
+            }
+        }
+    }
+
+    private static MovementType typeOf(MovementRequest.Type type) {
+        switch (type) {
+            case INCREMENT:
+                return MovementType.INCREMENT;
+            case DECREMENT:
+                return MovementType.DECREMENT;
+            default:
+                return null;
+        }
+    }
+
+    private static MovementResult resultOf(MovementRequest request, StockMovement movement) {
+        if (movement.getStatus() != MovementStatus.APPLIED)
+            return rejected(request, movement.getError());
+        return MovementResult.newBuilder()
+                .setCorrelationId(request.getCorrelationId())
+                .setApplied(true)
+                .setBeer(BeerMessages.toMessage(movement.getBeer()))
+                .build();
+    }
+
+    private static MovementResult rejected(MovementRequest request, String error) {
+        return MovementResult.newBuilder()
+                .setCorrelationId(request.getCorrelationId())
+                .setError(error == null ? "" : error)
+                .build();
+    }
+}
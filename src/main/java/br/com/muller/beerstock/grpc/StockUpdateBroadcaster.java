@@ -0,0 +1,70 @@
+package br.com.muller.beerstock.grpc;
+
+import br.com.muller.beerstock.event.BeerChangedEvent;
+import br.com.muller.beerstock.event.BeerChangedEvent.ChangeType;
+import br.com.muller.beerstock.grpc.proto.StockUpdate;
+import br.com.muller.beerstock.grpc.proto.WatchStockRequest;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes committed stock changes to WatchStock calls. Updates a watcher cannot take yet are held per
+ * beer, a newer one replacing an older, so a slow client gets the latest stock without the server
+ * buffering every change for it.
+ */
+public class StockUpdateBroadcaster {
+
+    private final Set<Watcher> watchers = ConcurrentHashMap.newKeySet();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        if (watchers.isEmpty())
+            return;
+        StockUpdate update = StockUpdate.newBuilder()
+                .setBeerId(event.getBeer().getId())
+                .setQuantity(event.getBeer().getQuantity())
+                .setVersion(event.getVersion())
+                .setDeleted(event.getType() == ChangeType.DELETED)
+                .build();
+        watchers.forEach(watcher -> watcher.offer(update));
+    }
+
+    void watch(WatchStockRequest request, ServerCallStreamObserver<StockUpdate> responseObserver) {
+        Watcher watcher = new Watcher(Set.copyOf(request.getBeerIdsList()), responseObserver);
+        responseObserver.setOnCancelHandler(() -> watchers.remove(watcher));
+        responseObserver.setOnReadyHandler(watcher::drain);
+        watchers.add(watcher);
+    }
+
+    private static class Watcher {
+        private final Set<Long> beerIds;
+        private final ServerCallStreamObserver<StockUpdate> responseObserver;
+        private final Map<Long, StockUpdate> pending = new LinkedHashMap<>();
+
+        Watcher(Set<Long> beerIds, ServerCallStreamObserver<StockUpdate> responseObserver) {
+            this.beerIds = beerIds;
+            this.responseObserver = responseObserver;
+        }
+
+        synchronized void offer(StockUpdate update) {
+            if (!beerIds.isEmpty() && !beerIds.contains(update.getBeerId()))
+                return;
+            pending.merge(update.getBeerId(), update, (held, newer) -> newer.getVersion() >= held.getVersion() ? newer : held);
+            drain();
+        }
+
+        synchronized void drain() {
+            Iterator<StockUpdate> updates = pending.values().iterator();
+            while (updates.hasNext() && responseObserver.isReady() && !responseObserver.isCancelled()) {
+                responseObserver.onNext(updates.next());
+                updates.remove();
+            }
+        }
+    }
+}
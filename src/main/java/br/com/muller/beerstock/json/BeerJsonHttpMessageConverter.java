@@ -0,0 +1,70 @@
+package br.com.muller.beerstock.json;
+
+import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.entity.Beer;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * Serves beer responses (single beers and collections of them) through {@link BeerJsonWriter}; every
+ * other body, and every request body, is left to the regular Jackson converter.
+ */
+public class BeerJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final BeerJsonWriter beerJsonWriter;
+
+    public BeerJsonHttpMessageConverter(BeerJsonWriter beerJsonWriter) {
+        super(MediaType.APPLICATION_JSON);
+        this.beerJsonWriter = beerJsonWriter;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return isBeer(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType))
+            return false;
+        ResolvableType resolvedType = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        if (Collection.class.isAssignableFrom(resolvedType.toClass()))
+            return isBeer(resolvedType.asCollection().resolveGeneric());
+        return isBeer(resolvedType.toClass());
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (body instanceof Iterable)
+            beerJsonWriter.writeAll((Iterable<?>) body, outputMessage.getBody());
+        else
+            beerJsonWriter.write(body, outputMessage.getBody());
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Beers are read by the Jackson converter", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Beers are read by the Jackson converter", inputMessage);
+    }
+
+    private boolean isBeer(Class<?> clazz) {
+        return clazz != null && (BeerDTO.class.isAssignableFrom(clazz) || Beer.class.isAssignableFrom(clazz));
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.muller.beerstock.json;
+
+import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.entity.Beer;
+import br.com.muller.beerstock.enums.BeerType;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes beers as the same JSON Jackson produces for BeerDTO, straight from a BeerDTO or a Beer entity.
+ * Field names and BeerType constants are encoded once, and no bean introspection happens per call.
+ */
+public class BeerJsonWriter {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString BRAND = new SerializedString("brand");
+    private static final SerializedString MAX = new SerializedString("max");
+    private static final SerializedString QUANTITY = new SerializedString("quantity");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString[] TYPES = new SerializedString[BeerType.values().length];
+
+    static {
+        for (BeerType type : BeerType.values()) {
+            TYPES[type.ordinal()] = new SerializedString(type.name());
+            TYPES[type.ordinal()].asQuotedUTF8();
+        }
+    }
+
+    private final JsonFactory jsonFactory;
+
+    public BeerJsonWriter(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    public void write(Object beer, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = createGenerator(outputStream)) {
+            writeBeer(generator, beer);
+        }
+    }
+
+    public void writeAll(Iterable<?> beers, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = createGenerator(outputStream)) {
+            generator.writeStartArray();
+            for (Object beer : beers)
+                writeBeer(generator, beer);
+            generator.writeEndArray();
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream outputStream) throws IOException {
+        return jsonFactory.createGenerator(outputStream, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private void writeBeer(JsonGenerator generator, Object beer) throws IOException {
+        if (beer instanceof BeerDTO) {
+            BeerDTO beerDTO = (BeerDTO) beer;
+            writeFields(generator, beerDTO.getId(), beerDTO.getName(), beerDTO.getBrand(), beerDTO.getMax(), beerDTO.getQuantity(), beerDTO.getType());
+        } else if (beer instanceof Beer) {
+            Beer entity = (Beer) beer;
+            writeFields(generator, entity.getId(), entity.getName(), entity.getBrand(), entity.getMax(), entity.getQuantity(), entity.getType());
+        } else if (beer == null) {
+            generator.writeNull();
+        } else {
+            throw new IllegalArgumentException("Not a beer: " + beer.getClass().getName());
+        }
+    }
+
+    private void writeFields(JsonGenerator generator, Long id, String name, String brand, int max, int quantity, BeerType type) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        if (id == null)
+            generator.writeNull();
+        else
+            generator.writeNumber(id);
+        generator.writeFieldName(NAME);
+        generator.writeString(name);
+        generator.writeFieldName(BRAND);
+        generator.writeString(brand);
+        generator.writeFieldName(MAX);
+        generator.writeNumber(max);
+        generator.writeFieldName(QUANTITY);
+        generator.writeNumber(quantity);
+        generator.writeFieldName(TYPE);
+        if (type == null)
+            generator.writeNull();
+        else
+            generator.writeString(TYPES[type.ordinal()]);
+        generator.writeEndObject();
+    }
+}
@@ -2,6 +2,7 @@ package br.com.muller.beerstock.mapper;
 
 import br.com.muller.beerstock.dto.BeerDTO;
 import br.com.muller.beerstock.entity.Beer;
+import br.com.muller.beerstock.repository.BeerView;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 
@@ -12,4 +13,6 @@ public interface BeerMapper {
     Beer toModel(BeerDTO beerDTO);
 
     BeerDTO toDTO(Beer beer);
+
+    BeerDTO toDTO(BeerView beerView);
 }
@@ -0,0 +1,160 @@
+package br.com.muller.beerstock.movement;
+
+import br.com.muller.beerstock.enums.MovementType;
+import br.com.muller.beerstock.exception.MovementQueueFullException;
+import br.com.muller.beerstock.reservation.HashedTimerWheel;
+import br.com.muller.beerstock.service.BeerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stock movements submitted without waiting for the database. Every beer id maps to one bounded
+ * partition drained by a single worker, so the movements of a beer are applied in submission order
+ * and a slow database shows up as queue depth rather than blocked request threads.
+ * <p>
+ * Stopping refuses new movements, lets the workers apply what is already queued for up to the shutdown
+ * timeout and rejects whatever is still left, so no ticket stays {@code PENDING}. The queue stops after
+ * the web server and before the beans it applies movements through are destroyed.
+ */
+@Slf4j
+public class MovementQueue implements SmartLifecycle {
+
+    /**
+     * Right below the web server, so the queue starts before and stops after it.
+     */
+    public static final int PHASE = Integer.MAX_VALUE - 2;
+    private static final long POLL_MILLIS = 100;
+    private static final String SHUTDOWN_REASON = "The service shut down before the movement was applied";
+
+    private final BeerService beerService;
+    private final HashedTimerWheel retentionTimer;
+    private final int batchSize;
+    private final long ticketRetentionSeconds;
+    private final long shutdownTimeoutSeconds;
+    private final List<BlockingQueue<StockMovement>> partitions = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final Map<UUID, StockMovement> tickets = new ConcurrentHashMap<>();
+    private volatile boolean running;
+    private volatile boolean stopping;
+
+    public MovementQueue(BeerService beerService, HashedTimerWheel retentionTimer, int partitions, int queueCapacity,
+                         int batchSize, long ticketRetentionSeconds, long shutdownTimeoutSeconds) {
+        this.beerService = beerService;
+        this.retentionTimer = retentionTimer;
+        this.batchSize = batchSize;
+        this.ticketRetentionSeconds = ticketRetentionSeconds;
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+        for (int i = 0; i < partitions; i++) {
+            BlockingQueue<StockMovement> partition = new ArrayBlockingQueue<>(queueCapacity);
+            this.partitions.add(partition);
+            Thread worker = new Thread(() -> drain(partition), "movement-worker-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+    }
+
+    @Override
+    public void start() {
+        workers.forEach(Thread::start);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        stopping = true;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(shutdownTimeoutSeconds);
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        List<StockMovement> left = new ArrayList<>();
+        partitions.forEach(partition -> partition.drainTo(left));
+        if (!left.isEmpty())
+            log.warn("Rejecting {} movements still queued at shutdown", left.size());
+        left.forEach(movement -> movement.rejected(SHUTDOWN_REASON));
+        retentionTimer.stop();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    public StockMovement submit(Long beerId, MovementType type, int quantity) throws MovementQueueFullException {
+        if (stopping)
+            throw new MovementQueueFullException(beerId);
+        StockMovement movement = new StockMovement(beerId, type, quantity);
+        tickets.put(movement.getTicket(), movement);
+        BlockingQueue<StockMovement> partition = partitionOf(beerId);
+        // a movement queued while stop() was already draining would never be applied nor rejected
+        if (!partition.offer(movement) || (stopping && partition.remove(movement))) {
+            tickets.remove(movement.getTicket());
+            throw new MovementQueueFullException(beerId);
+        }
+        return movement;
+    }
+
+    public Optional<StockMovement> find(UUID ticket) {
+        return Optional.ofNullable(tickets.get(ticket));
+    }
+
+    public int depth() {
+        return partitions.stream().mapToInt(BlockingQueue::size).sum();
+    }
+
+    private BlockingQueue<StockMovement> partitionOf(Long beerId) {
+        return partitions.get(Math.floorMod(beerId.hashCode(), partitions.size()));
+    }
+
+    private void drain(BlockingQueue<StockMovement> partition) {
+        List<StockMovement> batch = new ArrayList<>(batchSize);
+        while (!stopping || !partition.isEmpty()) {
+            StockMovement first;
+            try {
+                first = partition.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (first == null)
+                continue;
+            batch.add(first);
+            partition.drainTo(batch, batchSize - 1);
+            Map<Long, List<StockMovement>> byBeer = new LinkedHashMap<>();
+            batch.forEach(movement -> byBeer.computeIfAbsent(movement.getBeerId(), beerId -> new ArrayList<>()).add(movement));
+            byBeer.forEach(this::apply);
+            batch.clear();
+        }
+    }
+
+    private void apply(Long beerId, List<StockMovement> movements) {
+        try {
+            beerService.applyMovements(beerId, movements);
+        } catch (RuntimeException e) {
+            log.warn("Could not apply {} movements of beer {}", movements.size(), beerId, e);
+            movements.forEach(movement -> movement.rejected(e.getMessage()));
+        }
+        movements.forEach(movement -> retentionTimer.schedule(() -> tickets.remove(movement.getTicket()),
+                ticketRetentionSeconds, TimeUnit.SECONDS));
+    }
+}
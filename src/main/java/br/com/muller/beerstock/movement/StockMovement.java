@@ -0,0 +1,44 @@
+package br.com.muller.beerstock.movement;
+
+import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.dto.MovementTicketDTO;
+import br.com.muller.beerstock.enums.MovementStatus;
+import br.com.muller.beerstock.enums.MovementType;
+import lombok.Getter;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Getter
+public class StockMovement {
+    private final UUID ticket = UUID.randomUUID();
+    private final Long beerId;
+    private final MovementType type;
+    private final int quantity;
+    private volatile MovementStatus status = MovementStatus.PENDING;
+    private volatile BeerDTO beer;
+    private volatile String error;
+    private final CompletableFuture<StockMovement> completion = new CompletableFuture<>();
+
+    public StockMovement(Long beerId, MovementType type, int quantity) {
+        this.beerId = beerId;
+        this.type = type;
+        this.quantity = quantity;
+    }
+
+    public void applied(BeerDTO beer) {
+        this.beer = beer;
+        this.status = MovementStatus.APPLIED;
+        completion.complete(this);
+    }
+
+    public void rejected(String error) {
+        this.error = error;
+        this.status = MovementStatus.REJECTED;
+        completion.complete(this);
+    }
+
+    public MovementTicketDTO toTicketDTO() {
+        return new MovementTicketDTO(ticket, beerId, type, quantity, status, error, beer);
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.muller.beerstock.outbox;
+
+import br.com.muller.beerstock.entity.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends one JSON line per change and forces it to disk before the offset moves past it.
+ */
+public class NdjsonFileSink implements OutboxSink {
+
+    private final String name;
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public NdjsonFileSink(String name, Path file, ObjectMapper objectMapper) {
+        this.name = name;
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void deliver(List<OutboxEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (OutboxEvent event : events) {
+            ObjectNode line = objectMapper.createObjectNode()
+                    .put("id", event.getId())
+                    .put("type", event.getType().name())
+                    .put("beerId", event.getBeerId())
+                    .put("version", event.getVersion())
+                    .put("createdAt", event.getCreatedAt().toString());
+            line.set("beer", objectMapper.readTree(event.getPayload()));
+            lines.append(objectMapper.writeValueAsString(line)).append('\n');
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            channel.force(false);
+        }
+    }
+}
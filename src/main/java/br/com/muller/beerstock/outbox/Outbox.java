@@ -0,0 +1,53 @@
+package br.com.muller.beerstock.outbox;
+
+import br.com.muller.beerstock.config.OutboxProperties;
+import br.com.muller.beerstock.entity.OutboxEvent;
+import br.com.muller.beerstock.event.BeerChangedEvent;
+import br.com.muller.beerstock.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Records beer changes in the outbox table. Callers must hold the transaction of the change itself,
+ * so a change and its event are committed or rolled back together.
+ */
+@Component
+public class Outbox {
+
+    private final OutboxEventRepository eventRepository;
+    private final OutboxProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public Outbox(OutboxEventRepository eventRepository, OutboxProperties properties, ObjectMapper objectMapper) {
+        this.eventRepository = eventRepository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    public void record(BeerChangedEvent event) {
+        if (properties.isEnabled())
+            eventRepository.save(toOutboxEvent(event));
+    }
+
+    public void recordAll(List<BeerChangedEvent> events) {
+        if (properties.isEnabled() && !events.isEmpty())
+            eventRepository.saveAll(events.stream().map(this::toOutboxEvent).collect(Collectors.toList()));
+    }
+
+    private OutboxEvent toOutboxEvent(BeerChangedEvent event) {
+        try {
+            return new OutboxEvent(null, event.getType(), event.getBeer().getId(), event.getVersion(),
+                    objectMapper.writeValueAsString(event.getBeer()), Instant.now());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.muller.beerstock.outbox;
+
+import br.com.muller.beerstock.config.OutboxProperties;
+import br.com.muller.beerstock.entity.OutboxEvent;
+import br.com.muller.beerstock.entity.OutboxOffset;
+import br.com.muller.beerstock.repository.OutboxEventRepository;
+import br.com.muller.beerstock.repository.OutboxOffsetRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers outbox events to every sink in id order and in batches, saving each sink's offset after a
+ * batch is delivered. Events every sink has received are pruned.
+ */
+@Slf4j
+@Lazy(false)
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository eventRepository;
+    private final OutboxOffsetRepository offsetRepository;
+    private final List<OutboxSink> sinks;
+    private final OutboxProperties properties;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository eventRepository, OutboxOffsetRepository offsetRepository,
+                       ObjectProvider<OutboxSink> sinks, OutboxProperties properties) {
+        this.eventRepository = eventRepository;
+        this.offsetRepository = offsetRepository;
+        this.sinks = sinks.orderedStream().collect(Collectors.toList());
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.outbox.relay-interval-millis:500}")
+    public synchronized int relay() {
+        if (!properties.isEnabled())
+            return 0;
+        int delivered = 0;
+        for (OutboxSink sink : sinks)
+            delivered += relay(sink);
+        return delivered;
+    }
+
+    private int relay(OutboxSink sink) {
+        long offset = offsetOf(sink);
+        int delivered = 0;
+        while (true) {
+            List<OutboxEvent> fetched = eventRepository.findByIdGreaterThanOrderByIdAsc(offset, PageRequest.of(0, properties.getBatchSize()));
+            List<OutboxEvent> batch = upToOpenGap(fetched, offset, Instant.now().minusMillis(properties.getGapTimeoutMillis()));
+            if (batch.isEmpty())
+                break;
+            try {
+                sink.deliver(batch);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Delivering {} outbox events after {} to {} failed", batch.size(), offset, sink.name(), e);
+                break;
+            }
+            offset = batch.get(batch.size() - 1).getId();
+            offsetRepository.save(new OutboxOffset(sink.name(), offset, Instant.now()));
+            delivered += batch.size();
+            if (batch.size() < properties.getBatchSize())
+                break;
+        }
+        return delivered;
+    }
+
+    /**
+     * Keeps the events before the first id gap that may still be filled. An id is taken when the row is
+     * inserted but only becomes visible when its transaction commits, so a missing id can belong to a
+     * transaction still running; relaying past it would skip that event for good. Such a transaction
+     * started before the event following the gap was written, so once that event is older than the gap
+     * timeout the missing id was rolled back and the gap is passed.
+     */
+    static List<OutboxEvent> upToOpenGap(List<OutboxEvent> events, long offset, Instant gapTimedOutBefore) {
+        long previousId = offset;
+        int ready = 0;
+        for (OutboxEvent event : events) {
+            if (event.getId() != previousId + 1 && event.getCreatedAt().isAfter(gapTimedOutBefore))
+                break;
+            previousId = event.getId();
+            ready++;
+        }
+        return events.subList(0, ready);
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.outbox.prune-interval-millis:60000}")
+    public synchronized int prune() {
+        if (!properties.isEnabled() || sinks.isEmpty())
+            return 0;
+        long deliveredToAll = sinks.stream().mapToLong(this::offsetOf).min().getAsLong();
+        int pruned = eventRepository.deleteUpTo(deliveredToAll);
+        if (pruned > 0)
+            log.info("Pruned {} delivered outbox events up to {}", pruned, deliveredToAll);
+        return pruned;
+    }
+
+    private long offsetOf(OutboxSink sink) {
+        return offsetRepository.findById(sink.name()).map(OutboxOffset::getLastEventId).orElse(0L);
+    }
+}
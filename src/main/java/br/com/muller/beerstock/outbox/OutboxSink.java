@@ -0,0 +1,20 @@
+package br.com.muller.beerstock.outbox;
+
+import br.com.muller.beerstock.entity.OutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of the change feed. Every sink is a consumer with its own offset.
+ */
+public interface OutboxSink {
+
+    String name();
+
+    /**
+     * Delivers a batch in order. A batch that fails is delivered again, so consumers should ignore
+     * event ids they have already seen.
+     */
+    void deliver(List<OutboxEvent> events) throws IOException;
+}
@@ -0,0 +1,52 @@
+package br.com.muller.beerstock.purge;
+
+import br.com.muller.beerstock.config.PurgeProperties;
+import br.com.muller.beerstock.repository.BeerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hard-deletes soft-deleted beers off-peak, a chunk at a time, so no single transaction holds locks
+ * on a large part of the table.
+ */
+@Slf4j
+@Lazy(false)
+@Component
+public class SoftDeletePurgeJob {
+
+    private final BeerRepository beerRepository;
+    private final PurgeProperties properties;
+
+    @Autowired
+    public SoftDeletePurgeJob(BeerRepository beerRepository, PurgeProperties properties) {
+        this.beerRepository = beerRepository;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${beerstock.purge.cron:0 */15 1-5 * * *}")
+    public int purge() {
+        long start = System.nanoTime();
+        int purged = 0;
+        int chunk;
+        do {
+            chunk = beerRepository.purgeSoftDeleted(properties.getChunkSize());
+            purged += chunk;
+        } while (chunk == properties.getChunkSize() && pause());
+        if (purged > 0)
+            log.info("Purged {} soft-deleted beers in {} ms", purged, (System.nanoTime() - start) / 1_000_000);
+        return purged;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getPauseMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.muller.beerstock.ratelimit;
+
+import br.com.muller.beerstock.config.RateLimitProperties;
+import br.com.muller.beerstock.utils.RequestUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String STARTED_AT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".startedAt";
+
+    private final RequestBudget readBudget;
+    private final RequestBudget writeBudget;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final Predicate<String> trustedProxy;
+
+    public RateLimitInterceptor(RateLimitProperties properties) {
+        this(properties, address -> false);
+    }
+
+    /**
+     * @param trustedNode addresses believed like the configured trusted proxies, such as the other cluster
+     *                    nodes forwarding a client's call with its address in {@code X-Forwarded-For}
+     */
+    public RateLimitInterceptor(RateLimitProperties properties, Predicate<String> trustedNode) {
+        Set<String> trustedProxies = Set.copyOf(properties.getTrustedProxies());
+        this.trustedProxy = trustedNode.or(trustedProxies::contains);
+        this.readBudget = new RequestBudget(properties.getRead(), properties.getMaxTrackedClients());
+        this.writeBudget = new RequestBudget(properties.getWrite(), properties.getMaxTrackedClients());
+        RateLimitProperties.Concurrency concurrency = properties.getConcurrency();
+        this.writeLimiter = new AdaptiveConcurrencyLimiter(concurrency.getInitialLimit(),
+                concurrency.getMinLimit(),
+                concurrency.getMaxLimit(),
+                concurrency.getLatencyTargetMillis());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        boolean write = RequestUtils.isWrite(request);
+        long waitNanos = (write ? writeBudget : readBudget).tryConsume(RequestUtils.clientAddress(request, trustedProxy));
+        if (waitNanos > 0) {
+            reject(response, waitNanos, "Rate limit exceeded");
+            return false;
+        }
+        if (!write)
+            return true;
+        if (!writeLimiter.tryAcquire()) {
+            reject(response, TimeUnit.SECONDS.toNanos(1), "Too many concurrent stock mutations");
+            return false;
+        }
+        request.setAttribute(STARTED_AT_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object startedAt = request.getAttribute(STARTED_AT_ATTRIBUTE);
+        if (startedAt != null)
+            writeLimiter.release(System.nanoTime() - (Long) startedAt);
+    }
+
+    public AdaptiveConcurrencyLimiter getWriteLimiter() {
+        return writeLimiter;
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos, String message) throws IOException {
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(waitNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"status\":429,\"message\":\"" + message + "\"}");
+    }
+}
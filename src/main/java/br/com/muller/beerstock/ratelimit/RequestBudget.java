@@ -0,0 +1,44 @@
+package br.com.muller.beerstock.ratelimit;
+
+import br.com.muller.beerstock.config.RateLimitProperties;
+import br.com.muller.beerstock.utils.StripedLruMap;
+
+public class RequestBudget {
+
+    private final RateLimitProperties.Budget budget;
+    private final TokenBucket globalBucket;
+    private final StripedLruMap<String, TokenBucket> clientBuckets;
+
+    public RequestBudget(RateLimitProperties.Budget budget, int maxTrackedClients) {
+        this.budget = budget;
+        this.globalBucket = new TokenBucket(budget.getGlobalRate(), budget.getGlobalBurst());
+        this.clientBuckets = new StripedLruMap<>(maxTrackedClients);
+    }
+
+    /**
+     * @return 0 when the request fits the budget, otherwise the nanos the client should wait
+     */
+    public long tryConsume(String clientId) {
+        TokenBucket clientBucket = clientBucket(clientId);
+        long clientWait = clientBucket.tryConsume();
+        if (clientWait > 0)
+            return clientWait;
+        long globalWait = globalBucket.tryConsume();
+        if (globalWait > 0)
+            clientBucket.refund();
+        return globalWait;
+    }
+
+    /**
+     * Buckets are capped at {@code maxTrackedClients} in least-recently-used order; the client idle the
+     * longest is evicted when a new one arrives and simply starts over with a full bucket.
+     */
+    private TokenBucket clientBucket(String clientId) {
+        return clientBuckets.computeIfAbsent(clientId,
+                id -> new TokenBucket(budget.getPerClientRate(), budget.getPerClientBurst()));
+    }
+
+    int trackedClients() {
+        return clientBuckets.size();
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.muller.beerstock.repository;
+
+import br.com.muller.beerstock.enums.BeerType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads only the requested beer columns, for clients choosing the fields they need. Rows map column
+ * names to values and always hold the column they were looked up by.
+ */
+public interface BeerFieldsRepository {
+
+    Set<String> COLUMNS = Set.of("id", "name", "brand", "max", "quantity", "type");
+
+    List<Map<String, Object>> findFieldsByIdIn(Set<String> columns, Collection<Long> ids);
+
+    List<Map<String, Object>> findFieldsByNameIn(Set<String> columns, Collection<String> names);
+
+    /**
+     * Beers of the given brand and type, any when null, in id order after the given id.
+     */
+    List<Map<String, Object>> findFields(Set<String> columns, String brand, BeerType type, Long afterId, int limit);
+}
@@ -0,0 +1,84 @@
+package br.com.muller.beerstock.repository;
+
+import br.com.muller.beerstock.entity.Beer;
+import br.com.muller.beerstock.enums.BeerType;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+@Transactional(readOnly = true)
+public class BeerFieldsRepositoryImpl implements BeerFieldsRepository {
+
+    private static final String ID = "id";
+    private static final String NAME = "name";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFieldsByIdIn(Set<String> columns, Collection<Long> ids) {
+        return select(columns, ID, (builder, beer) -> List.of(beer.get(ID).in(ids)), 0);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByNameIn(Set<String> columns, Collection<String> names) {
+        return select(columns, NAME, (builder, beer) -> List.of(beer.get(NAME).in(names)), 0);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFields(Set<String> columns, String brand, BeerType type, Long afterId, int limit) {
+        return select(columns, ID, (builder, beer) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (brand != null)
+                predicates.add(builder.equal(beer.get("brand"), brand));
+            if (type != null)
+                predicates.add(builder.equal(beer.get("type"), type));
+            if (afterId != null)
+                predicates.add(builder.greaterThan(beer.get(ID), afterId));
+            return predicates;
+        }, limit);
+    }
+
+    private List<Map<String, Object>> select(Set<String> columns, String keyColumn,
+                                             BiFunction<CriteriaBuilder, Root<Beer>, List<Predicate>> where, int limit) {
+        List<String> selected = new ArrayList<>();
+        selected.add(keyColumn);
+        columns.stream().filter(column -> !column.equals(keyColumn)).sorted().forEach(selected::add);
+        if (!COLUMNS.containsAll(selected))
+            throw new IllegalArgumentException("Unknown beer columns " + selected);
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Beer> beer = query.from(Beer.class);
+        query.multiselect(selected.stream().map(beer::get).collect(Collectors.toList()))
+                .where(where.apply(builder, beer).toArray(new Predicate[0]))
+                .orderBy(builder.asc(beer.get(ID)));
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit > 0)
+            typedQuery.setMaxResults(limit);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < selected.size(); i++)
+                row.put(selected.get(i), tuple.get(i));
+            rows.add(row);
+        }
+        return rows;
+    }
+}
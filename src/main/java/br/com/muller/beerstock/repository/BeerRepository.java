@@ -1,10 +1,67 @@
 package br.com.muller.beerstock.repository;
 
+import br.com.muller.beerstock.dto.BeerDTO;
 import br.com.muller.beerstock.entity.Beer;
+import br.com.muller.beerstock.enums.BeerType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface BeerRepository extends JpaRepository<Beer, Long> {
+public interface BeerRepository extends JpaRepository<Beer, Long>, BeerFieldsRepository {
     Optional<Beer> findByName(String name);
+
+    @Query("select new br.com.muller.beerstock.repository.BeerView(b.id, b.name, b.brand, b.max, b.quantity, b.type, b.version) from Beer b where b.name = :name")
+    Optional<BeerView> findViewByName(@Param("name") String name);
+
+    @Query("select new br.com.muller.beerstock.dto.BeerDTO(b.id, b.name, b.brand, b.max, b.quantity, b.type) from Beer b")
+    List<BeerDTO> findAllProjectedBy();
+
+    @Query("select new br.com.muller.beerstock.repository.BeerView(b.id, b.name, b.brand, b.max, b.quantity, b.type, b.version) from Beer b where b.id in :ids")
+    List<BeerView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new br.com.muller.beerstock.repository.BeerView(b.id, b.name, b.brand, b.max, b.quantity, b.type, b.version) from Beer b " +
+            "where (:brand is null or b.brand = :brand) and (:type is null or b.type = :type)")
+    List<BeerView> findViewsByBrandAndType(@Param("brand") String brand, @Param("type") BeerType type);
+
+    @Modifying
+    @Query("delete from Beer b where b.id in :ids")
+    int hardDeleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "update beer set deleted = true, version = version + 1 where id in (:ids) and deleted = false", nativeQuery = true)
+    int softDeleteByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stores a beer handed over by another node, keeping the id and version it had there.
+     */
+    @Modifying
+    @Query(value = "merge into beer (id, name, brand, max, quantity, type, version, deleted) key (id) " +
+            "values (:id, :name, :brand, :max, :quantity, :type, :version, false)", nativeQuery = true)
+    int importBeer(@Param("id") Long id, @Param("name") String name, @Param("brand") String brand, @Param("max") int max,
+                   @Param("quantity") int quantity, @Param("type") String type, @Param("version") long version);
+
+    /**
+     * Frees the name of a soft-deleted beer so it can be registered again.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "delete from beer where name = :name and deleted = true", nativeQuery = true)
+    int purgeSoftDeletedByName(@Param("name") String name);
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from beer where id in (select id from beer where deleted = true order by id limit :limit)", nativeQuery = true)
+    int purgeSoftDeleted(@Param("limit") int limit);
+
+    @Query("select new br.com.muller.beerstock.repository.CapacityUsage(b.type, b.brand, sum(b.quantity)) from Beer b group by b.type, b.brand")
+    List<CapacityUsage> sumQuantityByTypeAndBrand();
+
+    @Query("select new br.com.muller.beerstock.repository.StockLevel(b.id, b.version, b.quantity) from Beer b order by b.id")
+    List<StockLevel> findAllStockLevels();
 }
@@ -0,0 +1,21 @@
+package br.com.muller.beerstock.repository;
+
+import br.com.muller.beerstock.enums.BeerType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Read-only copy of a beer row; queries selecting it through a constructor expression bypass the
+ * persistence context, so no managed entity or dirty-checking snapshot is created.
+ */
+@Getter
+@AllArgsConstructor
+public class BeerView {
+    private final Long id;
+    private final String name;
+    private final String brand;
+    private final int max;
+    private final int quantity;
+    private final BeerType type;
+    private final Long version;
+}
@@ -0,0 +1,13 @@
+package br.com.muller.beerstock.repository;
+
+import br.com.muller.beerstock.enums.BeerType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CapacityUsage {
+    private final BeerType type;
+    private final String brand;
+    private final Long quantity;
+}
@@ -0,0 +1,20 @@
+package br.com.muller.beerstock.repository;
+
+import br.com.muller.beerstock.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    List<OutboxEvent> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent e where e.id <= :id")
+    int deleteUpTo(@Param("id") long id);
+}
@@ -0,0 +1,7 @@
+package br.com.muller.beerstock.repository;
+
+import br.com.muller.beerstock.entity.OutboxOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OutboxOffsetRepository extends JpaRepository<OutboxOffset, String> {
+}
@@ -0,0 +1,21 @@
+package br.com.muller.beerstock.repository;
+
+import br.com.muller.beerstock.entity.StockDelta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface StockDeltaRepository extends JpaRepository<StockDelta, Long> {
+    @Query("select new br.com.muller.beerstock.repository.StockLevel(d.beerId, d.version, d.quantity) from StockDelta d where d.recordedAt >= :from and d.recordedAt <= :to")
+    List<StockLevel> findLevelsRecordedBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    @Transactional
+    @Modifying
+    @Query("delete from StockDelta d where d.recordedAt < :before")
+    int deleteRecordedBefore(@Param("before") Instant before);
+}
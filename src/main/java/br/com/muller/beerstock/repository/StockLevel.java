@@ -0,0 +1,15 @@
+package br.com.muller.beerstock.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Quantity of a beer at a given version; a null quantity marks a deleted beer.
+ */
+@Getter
+@AllArgsConstructor
+public class StockLevel {
+    private final Long beerId;
+    private final Long version;
+    private final Integer quantity;
+}
@@ -0,0 +1,22 @@
+package br.com.muller.beerstock.repository;
+
+import br.com.muller.beerstock.entity.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+    Optional<StockSnapshot> findFirstByTakenAtLessThanEqualOrderByTakenAtDesc(Instant at);
+
+    Optional<StockSnapshot> findFirstByOrderByTakenAtAsc();
+
+    @Transactional
+    @Modifying
+    @Query("delete from StockSnapshot s where s.takenAt < :before")
+    int deleteTakenBefore(@Param("before") Instant before);
+}
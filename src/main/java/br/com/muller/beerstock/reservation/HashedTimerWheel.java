@@ -0,0 +1,140 @@
+package br.com.muller.beerstock.reservation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Timer wheel in the style of Varghese and Lauck: scheduling and cancelling are O(1) and a single worker
+ * thread only looks at the bucket of the current tick, so tens of thousands of pending timeouts cost
+ * nothing until they are due. Timeouts fire up to one tick late.
+ */
+@Slf4j
+public class HashedTimerWheel {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long tickNanos;
+    private final int mask;
+    private final Set<Timeout>[] wheel;
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final long startTime = System.nanoTime();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (Integer.bitCount(ticksPerWheel) != 1)
+            throw new IllegalArgumentException("ticksPerWheel must be a power of two: " + ticksPerWheel);
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.mask = ticksPerWheel - 1;
+        this.wheel = new Set[ticksPerWheel];
+        for (int i = 0; i < ticksPerWheel; i++)
+            wheel[i] = new HashSet<>();
+        this.worker = new Thread(this::run, "timer-wheel");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Timeout timeout = new Timeout(task, System.nanoTime() - startTime + unit.toNanos(delay));
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = tickNanos * (tick + 1);
+            long sleepNanos = deadline - (System.nanoTime() - startTime);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                continue;
+            }
+            removeCancelled();
+            transferScheduled();
+            expire(wheel[(int) (tick & mask)], deadline);
+            tick++;
+        }
+    }
+
+    private void removeCancelled() {
+        for (Timeout timeout = cancelled.poll(); timeout != null; timeout = cancelled.poll())
+            if (timeout.bucket != null)
+                timeout.bucket.remove(timeout);
+    }
+
+    private void transferScheduled() {
+        for (Timeout timeout = scheduled.poll(); timeout != null; timeout = scheduled.poll()) {
+            if (timeout.state.get() == CANCELLED)
+                continue;
+            long ticks = Math.max(timeout.deadline / tickNanos, tick);
+            timeout.remainingRounds = (ticks - tick) / wheel.length;
+            timeout.bucket = wheel[(int) (ticks & mask)];
+            timeout.bucket.add(timeout);
+        }
+    }
+
+    private void expire(Set<Timeout> bucket, long deadline) {
+        bucket.removeIf(timeout -> {
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                return false;
+            }
+            if (timeout.deadline > deadline)
+                return false;
+            if (timeout.state.compareAndSet(PENDING, EXPIRED))
+                timeout.run();
+            return true;
+        });
+    }
+
+    public class Timeout {
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long remainingRounds;
+        private Set<Timeout> bucket;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED))
+                return false;
+            cancelled.add(this);
+            return true;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private void run() {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("Timeout task failed", e);
+            }
+        }
+    }
+}
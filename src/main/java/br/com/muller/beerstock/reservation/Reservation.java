@@ -0,0 +1,16 @@
+package br.com.muller.beerstock.reservation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class Reservation {
+    private final UUID id;
+    private final Long beerId;
+    private final int quantity;
+    private final Instant expiresAt;
+}
@@ -0,0 +1,80 @@
+package br.com.muller.beerstock.reservation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory holds on beer stock. Holds are released by a timer wheel when their TTL runs out, so expiry
+ * never scans the table. Callers checking stock against {@link #heldQuantity(Long)} must hold
+ * {@link #lockFor(Long)} so the check and the change it guards are atomic per beer.
+ */
+public class ReservationRegistry {
+
+    private static final int LOCK_STRIPES = 256;
+
+    private final HashedTimerWheel timerWheel;
+    private final Map<UUID, Entry> reservations = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> heldQuantities = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public ReservationRegistry(HashedTimerWheel timerWheel) {
+        this.timerWheel = timerWheel;
+        for (int i = 0; i < LOCK_STRIPES; i++)
+            locks[i] = new Object();
+    }
+
+    public Object lockFor(Long beerId) {
+        return locks[Math.floorMod(beerId.hashCode(), LOCK_STRIPES)];
+    }
+
+    public int heldQuantity(Long beerId) {
+        return heldQuantities.getOrDefault(beerId, 0);
+    }
+
+    public Reservation hold(Long beerId, int quantity, Duration ttl) {
+        Reservation reservation = new Reservation(UUID.randomUUID(), beerId, quantity, Instant.now().plus(ttl));
+        Entry entry = new Entry(reservation);
+        heldQuantities.merge(beerId, quantity, Integer::sum);
+        reservations.put(reservation.getId(), entry);
+        entry.timeout = timerWheel.schedule(() -> release(reservation.getId()), ttl.toMillis(), TimeUnit.MILLISECONDS);
+        return reservation;
+    }
+
+    public Optional<Reservation> find(UUID id) {
+        return Optional.ofNullable(reservations.get(id)).map(entry -> entry.reservation);
+    }
+
+    public Optional<Reservation> release(UUID id) {
+        Entry entry = reservations.remove(id);
+        if (entry == null)
+            return Optional.empty();
+        if (entry.timeout != null)
+            entry.timeout.cancel();
+        Reservation reservation = entry.reservation;
+        heldQuantities.computeIfPresent(reservation.getBeerId(), (beerId, held) ->
+                held == reservation.getQuantity() ? null : held - reservation.getQuantity());
+        return Optional.of(reservation);
+    }
+
+    public int activeReservations() {
+        return reservations.size();
+    }
+
+    public void stop() {
+        timerWheel.stop();
+    }
+
+    private static class Entry {
+        private final Reservation reservation;
+        private volatile HashedTimerWheel.Timeout timeout;
+
+        private Entry(Reservation reservation) {
+            this.reservation = reservation;
+        }
+    }
+}
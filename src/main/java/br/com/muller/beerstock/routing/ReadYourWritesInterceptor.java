@@ -0,0 +1,27 @@
+package br.com.muller.beerstock.routing;
+
+import br.com.muller.beerstock.utils.RequestUtils;
+import lombok.AllArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@AllArgsConstructor
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    private final ReadYourWritesTracker tracker;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        tracker.bind(RequestUtils.clientId(request));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (RequestUtils.isWrite(request) && ex == null && response.getStatus() < 400)
+            tracker.recordWrite();
+        tracker.unbind();
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.muller.beerstock.routing;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers when each client last wrote, so its reads stay on the primary until replicas have caught up.
+ */
+public class ReadYourWritesTracker {
+
+    private static final ThreadLocal<String> CURRENT_CLIENT = new ThreadLocal<>();
+
+    private final long stickinessNanos;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long stickinessMillis) {
+        this.stickinessNanos = TimeUnit.MILLISECONDS.toNanos(stickinessMillis);
+    }
+
+    public void bind(String clientId) {
+        CURRENT_CLIENT.set(clientId);
+    }
+
+    public void unbind() {
+        CURRENT_CLIENT.remove();
+    }
+
+    public void recordWrite() {
+        String clientId = CURRENT_CLIENT.get();
+        if (clientId != null)
+            lastWrites.put(clientId, System.nanoTime());
+    }
+
+    public boolean mustReadFromPrimary() {
+        String clientId = CURRENT_CLIENT.get();
+        if (clientId == null)
+            return false;
+        Long lastWrite = lastWrites.get(clientId);
+        return lastWrite != null && System.nanoTime() - lastWrite < stickinessNanos;
+    }
+
+    public void pruneExpired() {
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite >= stickinessNanos);
+    }
+}
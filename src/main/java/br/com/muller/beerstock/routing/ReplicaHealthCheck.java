@@ -0,0 +1,31 @@
+package br.com.muller.beerstock.routing;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Lazy(false)
+@Component
+@Profile("replicas")
+public class ReplicaHealthCheck {
+
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    @Autowired
+    public ReplicaHealthCheck(DataSource dataSource, ReadYourWritesTracker readYourWritesTracker) throws SQLException {
+        this.replicaRoutingDataSource = dataSource.unwrap(ReplicaRoutingDataSource.class);
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.datasource.health-check-interval-millis:5000}")
+    public void check() {
+        replicaRoutingDataSource.checkReplicaHealth();
+        readYourWritesTracker.pruneExpired();
+    }
+}
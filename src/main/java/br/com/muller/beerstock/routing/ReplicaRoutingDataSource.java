@@ -0,0 +1,91 @@
+package br.com.muller.beerstock.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions round robin to the healthy replicas and everything else to the primary.
+ * Has to sit behind a LazyConnectionDataSourceProxy, so the read-only flag is known when the connection is fetched.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY_KEY = "primary";
+    private static final String REPLICA_KEY_PREFIX = "replica-";
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas = new HashMap<>();
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final Set<String> unhealthyReplicas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources, ReadYourWritesTracker readYourWritesTracker) {
+        this.primary = primary;
+        this.readYourWritesTracker = readYourWritesTracker;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY_KEY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            String key = REPLICA_KEY_PREFIX + i;
+            replicaKeys.add(key);
+            replicas.put(key, replicaDataSources.get(i));
+            targets.put(key, replicaDataSources.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || readYourWritesTracker.mustReadFromPrimary())
+            return PRIMARY_KEY;
+        for (int i = 0; i < replicaKeys.size(); i++) {
+            String key = replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+            if (!unhealthyReplicas.contains(key))
+                return key;
+        }
+        return PRIMARY_KEY;
+    }
+
+    public void checkReplicaHealth() {
+        replicas.forEach((key, replica) -> {
+            if (isValid(replica))
+                unhealthyReplicas.remove(key);
+            else if (unhealthyReplicas.add(key))
+                logger.warn("Replica " + key + " failed its health check, routing its reads to other replicas");
+        });
+    }
+
+    /**
+     * The primary followed by every replica, whatever their health.
+     */
+    public List<DataSource> getTargets() {
+        List<DataSource> targets = new ArrayList<>();
+        targets.add(primary);
+        replicaKeys.forEach(key -> targets.add(replicas.get(key)));
+        return targets;
+    }
+
+    public Set<String> getUnhealthyReplicas() {
+        return Set.copyOf(unhealthyReplicas);
+    }
+
+    private boolean isValid(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
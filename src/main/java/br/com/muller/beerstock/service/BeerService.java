@@ -1,47 +1,155 @@
 package br.com.muller.beerstock.service;
 
+import br.com.muller.beerstock.cache.BeerCache;
+import br.com.muller.beerstock.capacity.CapacityGuard;
 import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.dto.BulkDeleteRequestDTO;
+import br.com.muller.beerstock.dto.BulkDeleteResultDTO;
+import br.com.muller.beerstock.dto.ReservationDTO;
 import br.com.muller.beerstock.entity.Beer;
+import br.com.muller.beerstock.event.BeerChangedEvent;
+import br.com.muller.beerstock.event.BeerChangedEvent.ChangeType;
 import br.com.muller.beerstock.exception.*;
 import br.com.muller.beerstock.mapper.BeerMapper;
+import br.com.muller.beerstock.movement.StockMovement;
+import br.com.muller.beerstock.outbox.Outbox;
 import br.com.muller.beerstock.repository.BeerRepository;
+import br.com.muller.beerstock.repository.BeerView;
+import br.com.muller.beerstock.reservation.Reservation;
+import br.com.muller.beerstock.reservation.ReservationRegistry;
+import br.com.muller.beerstock.warmup.HotBeerTracker;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class BeerService {
+    private static final int DELETE_CHUNK_SIZE = 1_000;
+
     private final BeerRepository beerRepository;
+    private final BeerCache beerCache;
+    private final ReservationRegistry reservationRegistry;
+    private final CapacityGuard capacityGuard;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Outbox outbox;
+    private final TransactionTemplate transactionTemplate;
+    private final HotBeerTracker hotBeerTracker;
     private final BeerMapper beerMapper = BeerMapper.INSTANCE;
 
-    public BeerDTO createBeer(BeerDTO beerDTO) throws BeerAlreadyRegisteredException {
+    public BeerDTO createBeer(BeerDTO beerDTO) throws BeerAlreadyRegisteredException, BeerCapacityExceededException {
         verifyIfIsAlreadyRegistered(beerDTO.getName());
+        beerRepository.purgeSoftDeletedByName(beerDTO.getName());
         Beer beer = beerMapper.toModel(beerDTO);
-        Beer savedBeer = beerRepository.save(beer);
-        return beerMapper.toDTO(beer);
+        Beer savedBeer = capacityGuard.guard(beer.getType(), beer.getBrand(), beer.getQuantity(), () -> saveAndRecord(ChangeType.CREATED, beer));
+        publish(ChangeType.CREATED, savedBeer);
+        return beerMapper.toDTO(savedBeer);
     }
 
+    /**
+     * Stores a beer handed over by another node with its id and version unchanged; it is counted against
+     * the capacity groups and recorded like a newly created beer.
+     */
+    public BeerDTO importBeer(BeerDTO beerDTO, long version) throws BeerCapacityExceededException {
+        synchronized (reservationRegistry.lockFor(beerDTO.getId())) {
+            Beer beer = beerMapper.toModel(beerDTO);
+            beer.setVersion(version);
+            Beer importedBeer = capacityGuard.guard(beer.getType(), beer.getBrand(), beer.getQuantity(), () -> transactionTemplate.execute(status -> {
+                beerRepository.purgeSoftDeletedByName(beer.getName());
+                beerRepository.importBeer(beer.getId(), beer.getName(), beer.getBrand(), beer.getMax(), beer.getQuantity(), beer.getType().name(), version);
+                outbox.record(changeOf(ChangeType.CREATED, beer));
+                return beer;
+            }));
+            publish(ChangeType.CREATED, importedBeer);
+            return beerMapper.toDTO(importedBeer);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public BeerDTO findByName(String name) throws BeerNotFoundException {
-        Beer foundBeer = beerRepository.findByName(name)
+        Optional<BeerDTO> cachedBeer = beerCache.get(name);
+        if (cachedBeer.isPresent()) {
+            hotBeerTracker.record(name);
+            return cachedBeer.get();
+        }
+        BeerView foundBeer = beerRepository.findViewByName(name)
                 .orElseThrow(() -> new BeerNotFoundException(name));
-        return beerMapper.toDTO(foundBeer);
+        hotBeerTracker.record(name);
+        BeerDTO foundBeerDTO = beerMapper.toDTO(foundBeer);
+        beerCache.put(name, foundBeerDTO, versionOf(foundBeer));
+        return foundBeerDTO;
     }
 
+    @Transactional(readOnly = true)
     public List<BeerDTO> listAll(){
-        return beerRepository.findAll()
-                .stream()
-                .map(beerMapper::toDTO)
+        return beerRepository.findAllProjectedBy();
+    }
+
+    @Transactional
+    public void deleteById(Long id, boolean soft) throws BeerNotFoundException {
+        if (delete(beerRepository.findViewsByIdIn(List.of(id)), soft) == 0)
+            throw new BeerNotFoundException(id);
+    }
+
+    /**
+     * Removes a beer now held by another node, releasing its capacity and recording its deletion.
+     * Callers hold the beer's lock, so no change can slip in between the handover and the removal.
+     */
+    @Transactional
+    public void removeHandedOver(Long id) {
+        delete(beerRepository.findViewsByIdIn(List.of(id)), false);
+    }
+
+    /**
+     * Deletes the matching beers with one statement per chunk of ids instead of loading every entity.
+     * A soft delete only flags the rows, which SoftDeletePurgeJob removes later.
+     */
+    @Transactional
+    public BulkDeleteResultDTO deleteBeers(BulkDeleteRequestDTO request) {
+        int deleted = 0;
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            for (List<Long> ids : chunks(request.getIds()))
+                deleted += delete(beerRepository.findViewsByIdIn(ids).stream()
+                        .filter(beer -> request.getBrand() == null || request.getBrand().equals(beer.getBrand()))
+                        .filter(beer -> request.getType() == null || request.getType() == beer.getType())
+                        .collect(Collectors.toList()), request.isSoft());
+        } else {
+            deleted = delete(beerRepository.findViewsByBrandAndType(request.getBrand(), request.getType()), request.isSoft());
+        }
+        return new BulkDeleteResultDTO(deleted, request.isSoft());
+    }
+
+    private int delete(List<BeerView> beers, boolean soft) {
+        int deleted = 0;
+        for (List<BeerView> chunk : chunks(beers)) {
+            List<Long> ids = chunk.stream().map(BeerView::getId).collect(Collectors.toList());
+            deleted += soft ? beerRepository.softDeleteByIds(ids) : beerRepository.hardDeleteByIds(ids);
+        }
+        capacityGuard.withCounters(() -> beers.forEach(beer -> capacityGuard.release(beer.getType(), beer.getBrand(), beer.getQuantity())));
+        List<BeerChangedEvent> events = beers.stream()
+                .map(beer -> new BeerChangedEvent(ChangeType.DELETED, beerMapper.toDTO(beer), versionOf(beer) + 1))
                 .collect(Collectors.toList());
+        outbox.recordAll(events);
+        events.forEach(eventPublisher::publishEvent);
+        return deleted;
     }
 
-    public void deleteById(Long id) throws BeerNotFoundException {
-        verifyIfExists(id);
-        beerRepository.deleteById(id);
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += DELETE_CHUNK_SIZE)
+            chunks.add(items.subList(from, Math.min(from + DELETE_CHUNK_SIZE, items.size())));
+        return chunks;
     }
 
     public void verifyIfIsAlreadyRegistered(String name) throws BeerAlreadyRegisteredException {
@@ -56,25 +164,177 @@ public class BeerService {
     }
 
 
-    public BeerDTO increment(Long id, int quantityToIncrement) throws BeerNotFoundException, BeerStockExceededException, QuantityLessThanZeroException {
+    /**
+     * Runs under the beer's reservation lock like every other stock change, so the read-modify-write of
+     * the quantity never interleaves with a decrement, a hold or a confirmation of the same beer.
+     */
+    public BeerDTO increment(Long id, int quantityToIncrement) throws BeerNotFoundException, BeerStockExceededException, QuantityLessThanZeroException, BeerCapacityExceededException {
         if(quantityToIncrement<0)
             throw new QuantityLessThanZeroException(quantityToIncrement);
-        Beer foundBeer = verifyIfExists(id);
-        if (foundBeer.getQuantity()+quantityToIncrement > foundBeer.getMax())
-            throw new BeerStockExceededException(id, quantityToIncrement);
-        foundBeer.setQuantity(foundBeer.getQuantity()+quantityToIncrement);
-        Beer savedBeer = beerRepository.save(foundBeer);
-        return beerMapper.toDTO(savedBeer);
+        synchronized (reservationRegistry.lockFor(id)) {
+            Beer foundBeer = verifyIfExists(id);
+            if (foundBeer.getQuantity()+quantityToIncrement > foundBeer.getMax())
+                throw new BeerStockExceededException(id, quantityToIncrement);
+            foundBeer.setQuantity(foundBeer.getQuantity()+quantityToIncrement);
+            Beer savedBeer = capacityGuard.guard(foundBeer.getType(), foundBeer.getBrand(), quantityToIncrement, () -> saveAndRecord(ChangeType.UPDATED, foundBeer));
+            publish(ChangeType.UPDATED, savedBeer);
+            return beerMapper.toDTO(savedBeer);
+        }
     }
 
     public BeerDTO decrement(Long id, int quantityToDecrement) throws BeerNotFoundException, BeerStockLessThenZeroException, QuantityLessThanZeroException {
         if(quantityToDecrement<0)
             throw new QuantityLessThanZeroException(quantityToDecrement);
-        Beer foundBeer = verifyIfExists(id);
-        if (foundBeer.getQuantity()-quantityToDecrement < 0)
-            throw new BeerStockLessThenZeroException(id, quantityToDecrement);
-        foundBeer.setQuantity(foundBeer.getQuantity()-quantityToDecrement);
-        Beer savedBeer = beerRepository.save(foundBeer);
-        return beerMapper.toDTO(savedBeer);
+        synchronized (reservationRegistry.lockFor(id)) {
+            Beer foundBeer = verifyIfExists(id);
+            if (available(foundBeer)-quantityToDecrement < 0)
+                throw new BeerStockLessThenZeroException(id, quantityToDecrement);
+            foundBeer.setQuantity(foundBeer.getQuantity()-quantityToDecrement);
+            Beer savedBeer = capacityGuard.remove(foundBeer.getType(), foundBeer.getBrand(), quantityToDecrement, () -> saveAndRecord(ChangeType.UPDATED, foundBeer));
+            publish(ChangeType.UPDATED, savedBeer);
+            return beerMapper.toDTO(savedBeer);
+        }
+    }
+
+    /**
+     * Applies queued movements of one beer in order with the same checks as increment and decrement,
+     * saving the beer once for the whole batch. Movements failing a check are rejected, the others applied.
+     */
+    public void applyMovements(Long id, List<StockMovement> movements) {
+        synchronized (reservationRegistry.lockFor(id)) {
+            Optional<Beer> foundBeer = beerRepository.findById(id);
+            if (foundBeer.isEmpty()) {
+                String error = new BeerNotFoundException(id).getMessage();
+                movements.forEach(movement -> movement.rejected(error));
+                return;
+            }
+            capacityGuard.withCounters(() -> applyBatch(foundBeer.get(), movements));
+        }
+    }
+
+    private void applyBatch(Beer beer, List<StockMovement> movements) {
+        int quantityBefore = beer.getQuantity();
+        List<BeerDTO> results = new ArrayList<>(movements.size());
+        for (StockMovement movement : movements)
+            results.add(apply(beer, movement));
+        if (results.stream().anyMatch(result -> result != null)) {
+            Beer savedBeer;
+            try {
+                savedBeer = saveAndRecord(ChangeType.UPDATED, beer);
+            } catch (RuntimeException e) {
+                capacityGuard.release(beer.getType(), beer.getBrand(), beer.getQuantity() - quantityBefore);
+                throw e;
+            }
+            publish(ChangeType.UPDATED, savedBeer);
+        }
+        for (int i = 0; i < movements.size(); i++)
+            if (results.get(i) != null)
+                movements.get(i).applied(results.get(i));
+    }
+
+    private BeerDTO apply(Beer beer, StockMovement movement) {
+        int quantity = movement.getQuantity();
+        try {
+            if (quantity < 0)
+                throw new QuantityLessThanZeroException(quantity);
+            switch (movement.getType()) {
+                case INCREMENT:
+                    if (beer.getQuantity()+quantity > beer.getMax())
+                        throw new BeerStockExceededException(beer.getId(), quantity);
+                    capacityGuard.reserve(beer.getType(), beer.getBrand(), quantity);
+                    beer.setQuantity(beer.getQuantity()+quantity);
+                    break;
+                case DECREMENT:
+                    if (available(beer)-quantity < 0)
+                        throw new BeerStockLessThenZeroException(beer.getId(), quantity);
+                    capacityGuard.release(beer.getType(), beer.getBrand(), quantity);
+                    beer.setQuantity(beer.getQuantity()-quantity);
+                    break;
+            }
+            return beerMapper.toDTO(beer);
+        } catch (QuantityLessThanZeroException | BeerStockExceededException | BeerStockLessThenZeroException | BeerCapacityExceededException e) {
+            movement.rejected(e.getMessage());
+            return null;
+        }
+    }
+
+    public ReservationDTO reserve(Long id, int quantityToReserve, Duration ttl) throws BeerNotFoundException, BeerStockLessThenZeroException, QuantityLessThanZeroException {
+        if(quantityToReserve<0)
+            throw new QuantityLessThanZeroException(quantityToReserve);
+        synchronized (reservationRegistry.lockFor(id)) {
+            Beer foundBeer = verifyIfExists(id);
+            int available = available(foundBeer);
+            if (available-quantityToReserve < 0)
+                throw new BeerStockLessThenZeroException(id, quantityToReserve);
+            Reservation reservation = reservationRegistry.hold(id, quantityToReserve, ttl);
+            return new ReservationDTO(reservation.getId(), id, quantityToReserve, reservation.getExpiresAt(), available-quantityToReserve);
+        }
+    }
+
+    /**
+     * Takes the held units out of the stock. The hold is only released once the new quantity is saved, so
+     * a failed save leaves the units held instead of handing them to other orders.
+     */
+    public BeerDTO confirmReservation(Long id, UUID reservationId) throws BeerNotFoundException, ReservationNotFoundException, BeerStockLessThenZeroException {
+        synchronized (reservationRegistry.lockFor(id)) {
+            Reservation reservation = verifyIfReserved(id, reservationId);
+            Beer foundBeer = verifyIfExists(id);
+            if (foundBeer.getQuantity()-reservation.getQuantity() < 0)
+                throw new BeerStockLessThenZeroException(id, reservation.getQuantity());
+            foundBeer.setQuantity(foundBeer.getQuantity()-reservation.getQuantity());
+            Beer savedBeer = capacityGuard.remove(foundBeer.getType(), foundBeer.getBrand(), reservation.getQuantity(), () -> saveAndRecord(ChangeType.UPDATED, foundBeer));
+            reservationRegistry.release(reservationId);
+            publish(ChangeType.UPDATED, savedBeer);
+            return beerMapper.toDTO(savedBeer);
+        }
+    }
+
+    public void cancelReservation(Long id, UUID reservationId) throws ReservationNotFoundException {
+        verifyIfReserved(id, reservationId);
+        reservationRegistry.release(reservationId);
+    }
+
+    private Reservation verifyIfReserved(Long id, UUID reservationId) throws ReservationNotFoundException {
+        return reservationRegistry.find(reservationId)
+                .filter(reservation -> reservation.getBeerId().equals(id))
+                .orElseThrow(() -> new ReservationNotFoundException(id, reservationId));
+    }
+
+    private int available(Beer beer) {
+        return beer.getQuantity() - reservationRegistry.heldQuantity(beer.getId());
+    }
+
+    /**
+     * Saves the beer and its outbox event in one transaction. The transaction runs inside the caller's
+     * lock on the beer, so the next change of the beer always reads this one committed; only another
+     * instance can change the beer in between, which the version check turns into a conflict.
+     */
+    private Beer saveAndRecord(ChangeType type, Beer beer) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Beer savedBeer = beerRepository.save(beer);
+                beerRepository.flush();
+                outbox.record(changeOf(type, savedBeer));
+                return savedBeer;
+            });
+        } catch (OptimisticLockingFailureException e) {
+            throw new BeerModifiedConcurrentlyException(beer.getId(), e);
+        }
+    }
+
+    private void publish(ChangeType type, Beer beer) {
+        eventPublisher.publishEvent(changeOf(type, beer));
+    }
+
+    private BeerChangedEvent changeOf(ChangeType type, Beer beer) {
+        return new BeerChangedEvent(type, beerMapper.toDTO(beer), versionOf(beer));
+    }
+
+    private long versionOf(Beer beer) {
+        return beer.getVersion() == null ? 0 : beer.getVersion();
+    }
+
+    private long versionOf(BeerView beer) {
+        return beer.getVersion() == null ? 0 : beer.getVersion();
     }
 }
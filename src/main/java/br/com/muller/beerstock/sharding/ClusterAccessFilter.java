@@ -0,0 +1,32 @@
+package br.com.muller.beerstock.sharding;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Lets only cluster nodes and the configured admin addresses call the cluster endpoints, which change
+ * the ring and write beers without any of the beer API checks.
+ */
+@AllArgsConstructor
+public class ClusterAccessFilter extends OncePerRequestFilter {
+
+    private final ShardRouter router;
+    private final Set<String> adminAddresses;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        String address = request.getRemoteAddr();
+        if (router.isNodeAddress(address) || adminAddresses.contains(address))
+            chain.doFilter(request, response);
+        else
+            response.sendError(HttpStatus.FORBIDDEN.value(), "Cluster endpoints are only open to cluster nodes");
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.muller.beerstock.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+public class ConsistentHashRing {
+
+    private final int virtualNodes;
+
+    private volatile NavigableMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    public synchronized void addNode(String nodeId) {
+        NavigableMap<Long, String> updated = new TreeMap<>(ring);
+        for (int i = 0; i < virtualNodes; i++)
+            updated.put(hash(nodeId + "#" + i), nodeId);
+        ring = updated;
+    }
+
+    public synchronized void removeNode(String nodeId) {
+        NavigableMap<Long, String> updated = new TreeMap<>(ring);
+        updated.values().removeIf(nodeId::equals);
+        ring = updated;
+    }
+
+    public String ownerOf(String key) {
+        NavigableMap<Long, String> current = ring;
+        if (current.isEmpty())
+            throw new IllegalStateException("Hash ring has no nodes");
+        Map.Entry<Long, String> owner = current.ceilingEntry(hash(key));
+        return owner != null ? owner.getValue() : current.firstEntry().getValue();
+    }
+
+    public Set<String> getNodes() {
+        return new TreeSet<>(ring.values());
+    }
+
+    static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int i = 0; i < Long.BYTES; i++)
+                hash = hash << 8 | (digest[i] & 0xFF);
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
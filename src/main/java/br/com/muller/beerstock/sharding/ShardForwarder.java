@@ -0,0 +1,93 @@
+package br.com.muller.beerstock.sharding;
+
+import br.com.muller.beerstock.config.ShardingProperties;
+import br.com.muller.beerstock.tracing.TraceContext;
+import br.com.muller.beerstock.utils.RequestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@ConditionalOnProperty(name = "beerstock.sharding.enabled", havingValue = "true")
+public class ShardForwarder {
+
+    /**
+     * Marks a request already routed by a node; the receiving node always handles it locally.
+     */
+    public static final String FORWARDED_HEADER = "X-Beerstock-Forwarded";
+
+    private final HttpClient httpClient;
+    private final Duration timeout;
+
+    @Autowired
+    public ShardForwarder(ShardingProperties properties) {
+        this.timeout = Duration.ofMillis(properties.getForwardTimeoutMillis());
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * Sends a call the node makes on its own behalf, such as handing a beer over.
+     */
+    public CompletableFuture<HttpResponse<byte[]>> send(String baseUrl, String method, String pathAndQuery, byte[] body) {
+        return httpClient.sendAsync(newRequest(baseUrl, method, pathAndQuery, body).build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Passes a client's call on to another node. The client address is appended to {@code X-Forwarded-For},
+     * so the receiving node, which trusts cluster nodes as proxies, rate limits the client and not this node.
+     */
+    public CompletableFuture<HttpResponse<byte[]>> send(String baseUrl, HttpServletRequest request, byte[] body) {
+        HttpRequest.Builder forwarded = newRequest(baseUrl, request.getMethod(), pathAndQuery(request), body)
+                .header(RequestUtils.FORWARDED_FOR_HEADER, forwardedFor(request));
+        Object traceparent = request.getAttribute(TraceContext.TRACEPARENT_ATTRIBUTE);
+        if (traceparent != null)
+            forwarded.header(TraceContext.TRACEPARENT_HEADER, (String) traceparent);
+        return httpClient.sendAsync(forwarded.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    public HttpResponse<byte[]> forward(String baseUrl, HttpServletRequest request, byte[] body) {
+        return send(baseUrl, request, body).join();
+    }
+
+    private HttpRequest.Builder newRequest(String baseUrl, String method, String pathAndQuery, byte[] body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery))
+                .timeout(timeout)
+                .header(FORWARDED_HEADER, "true")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .method(method, body.length == 0 ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body));
+    }
+
+    private static String forwardedFor(HttpServletRequest request) {
+        String forwardedFor = request.getHeader(RequestUtils.FORWARDED_FOR_HEADER);
+        return forwardedFor == null || forwardedFor.isBlank()
+                ? request.getRemoteAddr()
+                : forwardedFor + ", " + request.getRemoteAddr();
+    }
+
+    public void copy(HttpResponse<byte[]> source, HttpServletResponse target) throws IOException {
+        target.setStatus(source.statusCode());
+        source.headers()
+                .firstValue(HttpHeaders.CONTENT_TYPE)
+                .ifPresent(target::setContentType);
+        target.getOutputStream().write(source.body());
+    }
+
+    public static String pathAndQuery(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return request.getRequestURI() + (query == null ? "" : "?" + query);
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.muller.beerstock.sharding;
+
+import br.com.muller.beerstock.config.ShardingProperties;
+import lombok.AllArgsConstructor;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Points the beer id sequence at this node's own range ({@code node-index * 2^40} onwards) right after the
+ * migrations, on the migration connection, so no id is generated from the shared default range before the
+ * web server accepts requests.
+ */
+@Component
+@ConditionalOnProperty(name = "beerstock.sharding.enabled", havingValue = "true")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class ShardIdRangeCallback implements Callback {
+
+    private static final long ID_RANGE = 1L << 40;
+
+    private final ShardingProperties properties;
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.AFTER_MIGRATE;
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        long base = properties.getNodeIndex() * ID_RANGE;
+        Long maxInRange = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), ?) FROM beer WHERE id > ? AND id < ?",
+                Long.class, base, base, base + ID_RANGE);
+        jdbcTemplate.execute("ALTER TABLE beer ALTER COLUMN id RESTART WITH " + (maxInRange + 1));
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.muller.beerstock.sharding;
+
+import br.com.muller.beerstock.dto.ClusterBeerDTO;
+import br.com.muller.beerstock.entity.Beer;
+import br.com.muller.beerstock.mapper.BeerMapper;
+import br.com.muller.beerstock.repository.BeerRepository;
+import br.com.muller.beerstock.repository.BeerView;
+import br.com.muller.beerstock.reservation.ReservationRegistry;
+import br.com.muller.beerstock.service.BeerService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "beerstock.sharding.enabled", havingValue = "true")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ShardRebalancer {
+
+    public static final String IMPORT_PATH = "/api/v1/cluster/beers";
+    private static final int PAGE_SIZE = 500;
+
+    private final ShardRouter router;
+    private final ShardForwarder forwarder;
+    private final BeerRepository beerRepository;
+    private final BeerService beerService;
+    private final ReservationRegistry reservationRegistry;
+    private final ObjectMapper objectMapper;
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+
+    /**
+     * Hands every local beer whose name now hashes to another node over to that node, one beer at a time
+     * under the beer's lock: its location is remembered and the local row removed before the lock is
+     * released, so a change waiting for the lock finds the beer gone instead of writing to a stale copy.
+     *
+     * @return the number of beers moved away from this node
+     */
+    public int rebalance() throws JsonProcessingException {
+        List<Long> candidateIds = new ArrayList<>();
+        Page<Beer> page = beerRepository.findAll(PageRequest.of(0, PAGE_SIZE, Sort.by("id")));
+        while (true) {
+            for (Beer beer : page) {
+                if (!router.isLocal(beer.getName()))
+                    candidateIds.add(beer.getId());
+            }
+            if (!page.hasNext())
+                break;
+            page = beerRepository.findAll(page.nextPageable());
+        }
+        int moved = 0;
+        for (Long id : candidateIds)
+            if (handOver(id))
+                moved++;
+        log.info("Rebalance moved {} beers away from node {}", moved, router.getLocalNodeId());
+        return moved;
+    }
+
+    private boolean handOver(Long id) throws JsonProcessingException {
+        synchronized (reservationRegistry.lockFor(id)) {
+            Optional<BeerView> found = beerRepository.findViewsByIdIn(List.of(id)).stream().findFirst();
+            if (found.isEmpty() || router.isLocal(found.get().getName()))
+                return false;
+            BeerView beer = found.get();
+            String owner = router.ownerOf(beer.getName());
+            byte[] body = objectMapper.writeValueAsBytes(new ClusterBeerDTO(beerMapper.toDTO(beer), beer.getVersion()));
+            HttpResponse<byte[]> response = forwarder.send(router.urlOf(owner), HttpMethod.POST.name(), IMPORT_PATH, body).join();
+            if (response.statusCode() / 100 != 2) {
+                log.warn("Node {} refused beer {} during rebalance with status {}", owner, beer.getName(), response.statusCode());
+                return false;
+            }
+            router.rememberLocation(id, owner);
+            beerService.removeHandedOver(id);
+            return true;
+        }
+    }
+}
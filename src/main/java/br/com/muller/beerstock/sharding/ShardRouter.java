@@ -0,0 +1,102 @@
+package br.com.muller.beerstock.sharding;
+
+import br.com.muller.beerstock.config.ShardingProperties;
+import br.com.muller.beerstock.utils.StripedLruMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "beerstock.sharding.enabled", havingValue = "true")
+public class ShardRouter {
+
+    private static final int MAX_CACHED_ID_LOCATIONS = 100_000;
+
+    private final String localNodeId;
+    private final ConsistentHashRing ring;
+    private final Map<String, String> nodeUrls = new ConcurrentHashMap<>();
+    private final StripedLruMap<Long, String> idLocations = new StripedLruMap<>(MAX_CACHED_ID_LOCATIONS);
+    private final Set<String> nodeAddresses = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public ShardRouter(ShardingProperties properties) {
+        if (properties.getNodeId() == null || !properties.getNodes().containsKey(properties.getNodeId()))
+            throw new IllegalStateException("beerstock.sharding.node-id must name one of beerstock.sharding.nodes");
+        this.localNodeId = properties.getNodeId();
+        this.ring = new ConsistentHashRing(properties.getVirtualNodes());
+        properties.getNodes().forEach(this::addNode);
+    }
+
+    public void addNode(String nodeId, String url) {
+        nodeUrls.put(nodeId, url);
+        ring.addNode(nodeId);
+        String host = URI.create(url).getHost();
+        try {
+            for (InetAddress address : InetAddress.getAllByName(host))
+                nodeAddresses.add(address.getHostAddress());
+        } catch (UnknownHostException e) {
+            log.warn("Cannot resolve host {} of node {}; its calls will not be trusted", host, nodeId);
+        }
+    }
+
+    /**
+     * Whether the address belongs to a node of the cluster, resolved from the node urls when they are added.
+     */
+    public boolean isNodeAddress(String address) {
+        return nodeAddresses.contains(address);
+    }
+
+    public String getLocalNodeId() {
+        return localNodeId;
+    }
+
+    public Map<String, String> getNodes() {
+        return Map.copyOf(nodeUrls);
+    }
+
+    public boolean isLocal(String beerName) {
+        return localNodeId.equals(ownerOf(beerName));
+    }
+
+    public String ownerOf(String beerName) {
+        return ring.ownerOf(beerName);
+    }
+
+    public String urlOf(String nodeId) {
+        return nodeUrls.get(nodeId);
+    }
+
+    public List<String> peers() {
+        return nodeUrls.keySet()
+                .stream()
+                .filter(nodeId -> !nodeId.equals(localNodeId))
+                .collect(Collectors.toList());
+    }
+
+    public Optional<String> knownLocationOf(Long id) {
+        return Optional.ofNullable(idLocations.get(id));
+    }
+
+    /**
+     * Only the most recently used locations are kept; a forgotten one is found again by asking the peers.
+     */
+    public void rememberLocation(Long id, String nodeId) {
+        idLocations.put(id, nodeId);
+    }
+
+    public void forgetLocation(Long id) {
+        idLocations.remove(id);
+    }
+}
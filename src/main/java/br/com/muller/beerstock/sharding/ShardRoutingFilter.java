@@ -0,0 +1,226 @@
+package br.com.muller.beerstock.sharding;
+
+import br.com.muller.beerstock.repository.BeerRepository;
+import br.com.muller.beerstock.utils.CachedBodyRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Routes beer API calls to the node owning the beer: names are placed on the consistent hash ring,
+ * id based calls are handled where the id is found, and the full list, stock snapshots and bulk
+ * deletions are merged from every node.
+ */
+@AllArgsConstructor
+public class ShardRoutingFilter extends OncePerRequestFilter {
+
+    private static final String BEER_API_PATH = "/api/v1/beers";
+    private static final String SNAPSHOT_PATH = "/snapshot";
+    private static final String DELETIONS_PATH = "/deletions";
+    private static final Pattern NAME_PATH = Pattern.compile("/([^/]+)");
+    private static final Pattern ID_PATH = Pattern.compile("/(\\d+)(/.*)?");
+    private static final String NAME_FIELD = "name";
+    private static final String ID_FIELD = "id";
+    private static final String SNAPSHOT_BEERS_FIELD = "beers";
+    private static final String SNAPSHOT_TAKEN_AT_FIELD = "snapshotTakenAt";
+    private static final String DELETED_FIELD = "deleted";
+
+    private final ShardRouter router;
+    private final ShardForwarder forwarder;
+    private final BeerRepository beerRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = beerPath(request);
+        return isForwardedByNode(request)
+                || !(path.equals(BEER_API_PATH) || path.startsWith(BEER_API_PATH + "/"));
+    }
+
+    /**
+     * The forwarded marker is only believed from cluster nodes; anyone else sending it is routed as usual.
+     */
+    private boolean isForwardedByNode(HttpServletRequest request) {
+        return request.getHeader(ShardForwarder.FORWARDED_HEADER) != null && router.isNodeAddress(request.getRemoteAddr());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        String path = beerPath(request).substring(BEER_API_PATH.length());
+        HttpMethod method = HttpMethod.resolve(request.getMethod());
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        HttpServletRequest cachedRequest = new CachedBodyRequest(request, body);
+
+        if ((path.isEmpty() || path.equals("/")) && method == HttpMethod.GET) {
+            mergeFromAllNodes(request, response);
+            return;
+        }
+        if (path.equals(SNAPSHOT_PATH) && method == HttpMethod.GET) {
+            mergeSnapshotsFromAllNodes(request, response);
+            return;
+        }
+        if (path.equals(DELETIONS_PATH) && method == HttpMethod.POST) {
+            mergeDeletionsFromAllNodes(request, response, body);
+            return;
+        }
+        if ((path.isEmpty() || path.equals("/")) && method == HttpMethod.POST) {
+            routeByName(nameOf(body), cachedRequest, response, chain, body);
+            return;
+        }
+        Matcher idPath = ID_PATH.matcher(path);
+        if (idPath.matches() && (method != HttpMethod.GET || idPath.group(2) != null)) {
+            routeById(Long.valueOf(idPath.group(1)), cachedRequest, response, chain, body);
+            return;
+        }
+        Matcher namePath = NAME_PATH.matcher(path);
+        if (namePath.matches() && method == HttpMethod.GET) {
+            routeByName(URLDecoder.decode(namePath.group(1), StandardCharsets.UTF_8), cachedRequest, response, chain, body);
+            return;
+        }
+        chain.doFilter(cachedRequest, response);
+    }
+
+    private void routeByName(String name, HttpServletRequest request, HttpServletResponse response, FilterChain chain, byte[] body) throws ServletException, IOException {
+        if (name == null || router.isLocal(name))
+            chain.doFilter(request, response);
+        else
+            forwarder.copy(forwarder.forward(router.urlOf(router.ownerOf(name)), request, body), response);
+    }
+
+    /**
+     * A location remembered for the id wins over the local table: a beer handed over to another node is
+     * remembered there before its local row is removed, so its writes never land on the stale copy.
+     */
+    private void routeById(Long id, HttpServletRequest request, HttpServletResponse response, FilterChain chain, byte[] body) throws ServletException, IOException {
+        Optional<String> knownLocation = router.knownLocationOf(id).filter(nodeId -> !nodeId.equals(router.getLocalNodeId()));
+        if (knownLocation.isPresent()) {
+            HttpResponse<byte[]> forwarded = forwarder.forward(router.urlOf(knownLocation.get()), request, body);
+            if (forwarded.statusCode() != HttpStatus.NOT_FOUND.value()) {
+                forwarder.copy(forwarded, response);
+                return;
+            }
+            router.forgetLocation(id);
+        }
+        if (beerRepository.existsById(id)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        List<String> candidates = new ArrayList<>(router.peers());
+        knownLocation.ifPresent(candidates::remove);
+        for (String nodeId : candidates) {
+            HttpResponse<byte[]> forwarded = forwarder.forward(router.urlOf(nodeId), request, body);
+            if (forwarded.statusCode() != HttpStatus.NOT_FOUND.value()) {
+                router.rememberLocation(id, nodeId);
+                forwarder.copy(forwarded, response);
+                return;
+            }
+        }
+        router.forgetLocation(id);
+        chain.doFilter(request, response);
+    }
+
+    private void mergeFromAllNodes(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        List<JsonNode> nodeResponses = collectFromAllNodes(request, response, new byte[0], "A shard did not answer the beer list");
+        if (nodeResponses == null)
+            return;
+        List<JsonNode> beers = new ArrayList<>();
+        nodeResponses.forEach(nodeResponse -> nodeResponse.forEach(beers::add));
+        beers.sort(Comparator.comparing(beer -> beer.path(NAME_FIELD).asText()));
+
+        writeJson(response, objectMapper.createArrayNode().addAll(beers));
+    }
+
+    /**
+     * Every node rebuilds the stock of its own beers; the merged answer reports the oldest snapshot used.
+     */
+    private void mergeSnapshotsFromAllNodes(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        List<JsonNode> nodeResponses = collectFromAllNodes(request, response, new byte[0], "A shard did not answer the stock snapshot");
+        if (nodeResponses == null)
+            return;
+        List<JsonNode> beers = new ArrayList<>();
+        nodeResponses.forEach(nodeResponse -> nodeResponse.path(SNAPSHOT_BEERS_FIELD).forEach(beers::add));
+        beers.sort(Comparator.comparingLong(beer -> beer.path(ID_FIELD).asLong()));
+
+        ObjectNode merged = nodeResponses.get(0).deepCopy();
+        nodeResponses.stream()
+                .map(nodeResponse -> nodeResponse.path(SNAPSHOT_TAKEN_AT_FIELD))
+                .min(Comparator.comparing(takenAt -> Instant.parse(takenAt.asText())))
+                .ifPresent(takenAt -> merged.set(SNAPSHOT_TAKEN_AT_FIELD, takenAt));
+        merged.set(SNAPSHOT_BEERS_FIELD, objectMapper.createArrayNode().addAll(beers));
+        writeJson(response, merged);
+    }
+
+    private void mergeDeletionsFromAllNodes(HttpServletRequest request, HttpServletResponse response, byte[] body) throws IOException {
+        List<JsonNode> nodeResponses = collectFromAllNodes(request, response, body, "A shard did not answer the bulk deletion");
+        if (nodeResponses == null)
+            return;
+        ObjectNode merged = nodeResponses.get(0).deepCopy();
+        merged.put(DELETED_FIELD, nodeResponses.stream().mapToInt(nodeResponse -> nodeResponse.path(DELETED_FIELD).asInt()).sum());
+        writeJson(response, merged);
+    }
+
+    private List<JsonNode> collectFromAllNodes(HttpServletRequest request, HttpServletResponse response, byte[] body, String error) throws IOException {
+        List<CompletableFuture<HttpResponse<byte[]>>> responses = new ArrayList<>();
+        router.getNodes().values().forEach(url ->
+                responses.add(forwarder.send(url, request, body)));
+
+        List<JsonNode> nodeResponses = new ArrayList<>();
+        for (CompletableFuture<HttpResponse<byte[]>> nodeResponse : responses) {
+            HttpResponse<byte[]> result;
+            try {
+                result = nodeResponse.join();
+            } catch (RuntimeException e) {
+                response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), error);
+                return null;
+            }
+            if (result.statusCode() != HttpStatus.OK.value()) {
+                response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), error);
+                return null;
+            }
+            nodeResponses.add(objectMapper.readTree(result.body()));
+        }
+        return nodeResponses;
+    }
+
+    private void writeJson(HttpServletResponse response, JsonNode body) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private String nameOf(byte[] body) {
+        try {
+            JsonNode beer = objectMapper.readTree(body);
+            return beer == null ? null : beer.path(NAME_FIELD).asText(null);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private String beerPath(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.muller.beerstock.snapshot;
+
+import br.com.muller.beerstock.repository.StockLevel;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Column-wise encoding of stock levels sorted by beer id: the count, then every id as the gap to the
+ * previous one, then every version, then every quantity, all as unsigned varints. Ids are dense and
+ * quantities small, so most values fit in one or two bytes.
+ */
+public final class StockSnapshotCodec {
+
+    private StockSnapshotCodec() {
+    }
+
+    public static byte[] encode(Collection<StockLevel> levels) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(levels.size() * 4 + 5);
+        writeVarLong(out, levels.size());
+        long previousId = 0;
+        for (StockLevel level : levels) {
+            writeVarLong(out, level.getBeerId() - previousId);
+            previousId = level.getBeerId();
+        }
+        levels.forEach(level -> writeVarLong(out, level.getVersion()));
+        levels.forEach(level -> writeVarLong(out, level.getQuantity()));
+        return out.toByteArray();
+    }
+
+    public static List<StockLevel> decode(byte[] payload) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        int count = (int) readVarLong(in);
+        long[] ids = new long[count];
+        long[] versions = new long[count];
+        long previousId = 0;
+        for (int i = 0; i < count; i++)
+            ids[i] = previousId += readVarLong(in);
+        for (int i = 0; i < count; i++)
+            versions[i] = readVarLong(in);
+        List<StockLevel> levels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            levels.add(new StockLevel(ids[i], versions[i], (int) readVarLong(in)));
+        return levels;
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        if (value < 0)
+            throw new IllegalArgumentException("Stock levels are not negative: " + value);
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+    }
+}
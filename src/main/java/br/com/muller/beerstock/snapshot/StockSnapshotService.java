@@ -0,0 +1,173 @@
+package br.com.muller.beerstock.snapshot;
+
+import br.com.muller.beerstock.config.SnapshotProperties;
+import br.com.muller.beerstock.dto.StockLevelDTO;
+import br.com.muller.beerstock.dto.StockSnapshotDTO;
+import br.com.muller.beerstock.entity.StockDelta;
+import br.com.muller.beerstock.entity.StockSnapshot;
+import br.com.muller.beerstock.event.BeerChangedEvent;
+import br.com.muller.beerstock.event.BeerChangedEvent.ChangeType;
+import br.com.muller.beerstock.exception.SnapshotNotFoundException;
+import br.com.muller.beerstock.movement.MovementQueue;
+import br.com.muller.beerstock.repository.BeerRepository;
+import br.com.muller.beerstock.repository.StockDeltaRepository;
+import br.com.muller.beerstock.repository.StockLevel;
+import br.com.muller.beerstock.repository.StockSnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the stock history as periodic snapshots plus the deltas recorded in between. Stock at a past
+ * instant is the nearest earlier snapshot with the later deltas replayed on top, so answering it never
+ * touches the beer table. Deltas hold the quantity after each change together with the beer version,
+ * which makes replaying a change the snapshot already contains harmless.
+ * <p>
+ * The buffered deltas are written when the service stops, after the web server and the movement queue
+ * and before any bean is destroyed, so a graceful restart loses no history.
+ */
+@Slf4j
+@Lazy(false)
+@Service
+public class StockSnapshotService implements SmartLifecycle {
+
+    private final BeerRepository beerRepository;
+    private final StockSnapshotRepository snapshotRepository;
+    private final StockDeltaRepository deltaRepository;
+    private final SnapshotProperties properties;
+    private final Queue<StockDelta> pendingDeltas = new ConcurrentLinkedQueue<>();
+    private volatile boolean readFromBeers = true;
+    private volatile boolean running;
+
+    @Autowired
+    public StockSnapshotService(BeerRepository beerRepository, StockSnapshotRepository snapshotRepository,
+                                StockDeltaRepository deltaRepository, SnapshotProperties properties) {
+        this.beerRepository = beerRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.deltaRepository = deltaRepository;
+        this.properties = properties;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        Integer quantity = event.getType() == ChangeType.DELETED ? null : event.getBeer().getQuantity();
+        pendingDeltas.add(new StockDelta(null, event.getBeer().getId(), event.getVersion(), quantity, Instant.now()));
+    }
+
+    /**
+     * Does nothing once the service is stopped: the repositories may already be going away, and the last
+     * flush has been done by {@link #stop()}.
+     */
+    @Scheduled(fixedDelayString = "${beerstock.snapshots.delta-flush-millis:1000}")
+    public synchronized void flushDeltas() {
+        if (!running)
+            return;
+        List<StockDelta> deltas = new ArrayList<>();
+        for (StockDelta delta = pendingDeltas.poll(); delta != null; delta = pendingDeltas.poll())
+            deltas.add(delta);
+        if (!deltas.isEmpty())
+            deltaRepository.saveAll(deltas);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        flushDeltas();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Below the movement queue, so the deltas of the movements it applies while stopping are flushed too.
+     */
+    @Override
+    public int getPhase() {
+        return MovementQueue.PHASE - 1;
+    }
+
+    /**
+     * The first snapshot of a run reads the beer table, as a crash of the previous run may have lost the
+     * deltas it still buffered; every later one rolls the previous snapshot forward with the recorded deltas.
+     */
+    @Scheduled(fixedDelayString = "${beerstock.snapshots.interval-millis:3600000}")
+    public synchronized StockSnapshot takeSnapshot() {
+        long start = System.nanoTime();
+        flushDeltas();
+        Instant takenAt = Instant.now();
+        Optional<StockSnapshot> previous = readFromBeers ? Optional.empty() : snapshotRepository.findFirstByTakenAtLessThanEqualOrderByTakenAtDesc(takenAt);
+        Collection<StockLevel> levels = previous.isPresent()
+                ? replay(previous.get(), takenAt).values()
+                : beerRepository.findAllStockLevels();
+        StockSnapshot snapshot = snapshotRepository.save(new StockSnapshot(null, takenAt, levels.size(), StockSnapshotCodec.encode(levels)));
+        readFromBeers = false;
+        log.info("Stock snapshot of {} beers taken in {} ms, {} bytes", levels.size(),
+                (System.nanoTime() - start) / 1_000_000, snapshot.getPayload().length);
+        prune(takenAt.minus(Duration.ofDays(properties.getRetentionDays())));
+        return snapshot;
+    }
+
+    public StockSnapshotDTO quantitiesAt(Instant at) throws SnapshotNotFoundException {
+        flushDeltas();
+        StockSnapshot snapshot = snapshotRepository.findFirstByTakenAtLessThanEqualOrderByTakenAtDesc(at)
+                .orElseThrow(() -> new SnapshotNotFoundException(at));
+        List<StockLevelDTO> beers = replay(snapshot, at).values().stream()
+                .map(level -> new StockLevelDTO(level.getBeerId(), level.getQuantity()))
+                .collect(Collectors.toList());
+        return new StockSnapshotDTO(at, snapshot.getTakenAt(), beers);
+    }
+
+    private Map<Long, StockLevel> replay(StockSnapshot snapshot, Instant until) {
+        Map<Long, StockLevel> levels = new TreeMap<>();
+        StockSnapshotCodec.decode(snapshot.getPayload()).forEach(level -> levels.put(level.getBeerId(), level));
+        Map<Long, StockLevel> latestDeltas = new TreeMap<>();
+        for (StockLevel delta : deltaRepository.findLevelsRecordedBetween(snapshot.getTakenAt(), until))
+            latestDeltas.merge(delta.getBeerId(), delta, (a, b) -> a.getVersion() >= b.getVersion() ? a : b);
+        latestDeltas.forEach((beerId, delta) -> {
+            StockLevel current = levels.get(beerId);
+            if (current != null && current.getVersion() >= delta.getVersion())
+                return;
+            if (delta.getQuantity() == null)
+                levels.remove(beerId);
+            else
+                levels.put(beerId, delta);
+        });
+        return levels;
+    }
+
+    /**
+     * Drops history older than the retention but keeps the snapshot the oldest retained instant is
+     * rebuilt from.
+     */
+    private void prune(Instant retainedFrom) {
+        snapshotRepository.findFirstByTakenAtLessThanEqualOrderByTakenAtDesc(retainedFrom).ifPresent(base -> {
+            int snapshots = snapshotRepository.deleteTakenBefore(base.getTakenAt());
+            int deltas = deltaRepository.deleteRecordedBefore(base.getTakenAt());
+            if (snapshots + deltas > 0)
+                log.info("Pruned {} stock snapshots and {} deltas older than {}", snapshots, deltas, base.getTakenAt());
+        });
+    }
+}
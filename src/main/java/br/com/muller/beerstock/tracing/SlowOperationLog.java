@@ -0,0 +1,73 @@
+package br.com.muller.beerstock.tracing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One JSON line per slow request: what was called, how long it took and, for sampled requests, each
+ * span with its own time (self_ms) next to the time spent in the spans below it.
+ */
+@Slf4j(topic = "beerstock.slow-operations")
+public class SlowOperationLog {
+
+    private final ObjectMapper objectMapper;
+
+    public SlowOperationLog(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public void log(String operation, int status, long durationNanos, long thresholdMillis, String traceId, Trace trace) {
+        if (!log.isWarnEnabled())
+            return;
+        try {
+            log.warn(objectMapper.writeValueAsString(toJson(operation, status, durationNanos, thresholdMillis, traceId, trace)));
+        } catch (JsonProcessingException e) {
+            log.warn("slow operation {} took {} ms", operation, TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        }
+    }
+
+    ObjectNode toJson(String operation, int status, long durationNanos, long thresholdMillis, String traceId, Trace trace) {
+        ObjectNode line = objectMapper.createObjectNode()
+                .put("event", "slow_operation")
+                .put("trace_id", traceId)
+                .put("operation", operation)
+                .put("status", status)
+                .put("duration_ms", millis(durationNanos))
+                .put("threshold_ms", thresholdMillis)
+                .put("sampled", trace != null);
+        if (trace == null)
+            return line;
+        ArrayNode spans = line.putArray("spans");
+        List<Span> recorded = trace.getSpans();
+        long origin = recorded.isEmpty() ? 0 : recorded.get(0).getStartNanos();
+        for (int i = 0; i < recorded.size(); i++) {
+            Span span = recorded.get(i);
+            spans.addObject()
+                    .put("name", span.getName())
+                    .put("depth", span.getDepth())
+                    .put("offset_ms", millis(span.getStartNanos() - origin))
+                    .put("duration_ms", millis(span.getDurationNanos()))
+                    .put("self_ms", millis(span.getDurationNanos() - childrenNanos(recorded, i)));
+        }
+        return line;
+    }
+
+    private long childrenNanos(List<Span> spans, int parent) {
+        int depth = spans.get(parent).getDepth();
+        long children = 0;
+        for (int i = parent + 1; i < spans.size() && spans.get(i).getDepth() > depth; i++)
+            if (spans.get(i).getDepth() == depth + 1)
+                children += Math.max(spans.get(i).getDurationNanos(), 0);
+        return children;
+    }
+
+    private double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
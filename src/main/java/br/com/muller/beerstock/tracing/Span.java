@@ -0,0 +1,21 @@
+package br.com.muller.beerstock.tracing;
+
+import lombok.Getter;
+
+@Getter
+public class Span {
+    private final String name;
+    private final int depth;
+    private final long startNanos;
+    private long durationNanos = -1;
+
+    Span(String name, int depth, long startNanos) {
+        this.name = name;
+        this.depth = depth;
+        this.startNanos = startNanos;
+    }
+
+    void end(long endNanos) {
+        durationNanos = endNanos - startNanos;
+    }
+}
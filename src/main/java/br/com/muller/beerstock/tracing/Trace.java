@@ -0,0 +1,39 @@
+package br.com.muller.beerstock.tracing;
+
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Spans of one sampled request, in start order, each knowing its nesting depth.
+ */
+@Getter
+public class Trace {
+    private final TraceContext context;
+    private final String spanId;
+    private final List<Span> spans = new ArrayList<>();
+    private final Deque<Span> open = new ArrayDeque<>();
+
+    Trace(TraceContext context, String spanId) {
+        this.context = context;
+        this.spanId = spanId;
+    }
+
+    Span start(String name) {
+        Span span = new Span(name, open.size(), System.nanoTime());
+        spans.add(span);
+        open.push(span);
+        return span;
+    }
+
+    void end(Span span) {
+        span.end(System.nanoTime());
+        Span closed;
+        do {
+            closed = open.poll();
+        } while (closed != null && closed != span);
+    }
+}
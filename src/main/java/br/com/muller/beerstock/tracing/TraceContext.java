@@ -0,0 +1,101 @@
+package br.com.muller.beerstock.tracing;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Trace identity carried by the request, read from W3C traceparent or B3 headers. {@link #sampled} is
+ * null when the caller left the sampling decision to us.
+ */
+public class TraceContext {
+
+    public static final String TRACEPARENT_HEADER = "traceparent";
+    public static final String B3_HEADER = "b3";
+    public static final String B3_TRACE_ID_HEADER = "X-B3-TraceId";
+    public static final String B3_SPAN_ID_HEADER = "X-B3-SpanId";
+    public static final String B3_SAMPLED_HEADER = "X-B3-Sampled";
+    public static final String TRACEPARENT_ATTRIBUTE = TraceContext.class.getName() + ".traceparent";
+
+    private static final Pattern TRACEPARENT = Pattern.compile("00-([0-9a-f]{32})-([0-9a-f]{16})-([0-9a-f]{2})");
+    private static final Pattern B3 = Pattern.compile("([0-9a-f]{16}|[0-9a-f]{32})-([0-9a-f]{16})(?:-([01d]))?(?:-[0-9a-f]{16})?");
+    private static final Pattern B3_ID = Pattern.compile("[0-9a-f]{16}|[0-9a-f]{32}");
+
+    private String traceId;
+    private final String parentSpanId;
+    private final Boolean sampled;
+
+    public TraceContext(String traceId, String parentSpanId, Boolean sampled) {
+        this.traceId = traceId;
+        this.parentSpanId = parentSpanId;
+        this.sampled = sampled;
+    }
+
+    /**
+     * The caller's trace id, or a new one the first time it is needed.
+     */
+    public String getTraceId() {
+        if (traceId == null)
+            traceId = hex(ThreadLocalRandom.current().nextLong()) + hex(ThreadLocalRandom.current().nextLong());
+        return traceId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public Boolean getSampled() {
+        return sampled;
+    }
+
+    public boolean isPropagated() {
+        return parentSpanId != null;
+    }
+
+    public static TraceContext from(HttpServletRequest request) {
+        String traceparent = request.getHeader(TRACEPARENT_HEADER);
+        if (traceparent != null) {
+            Matcher matcher = TRACEPARENT.matcher(traceparent.trim());
+            if (matcher.matches())
+                return new TraceContext(matcher.group(1), matcher.group(2), (Integer.parseInt(matcher.group(3), 16) & 1) == 1);
+        }
+        String b3 = request.getHeader(B3_HEADER);
+        if (b3 != null) {
+            Matcher matcher = B3.matcher(b3.trim());
+            if (matcher.matches())
+                return new TraceContext(padTraceId(matcher.group(1)), matcher.group(2), b3Sampled(matcher.group(3)));
+            if (b3.trim().length() == 1)
+                return new TraceContext(null, null, b3Sampled(b3.trim()));
+        }
+        String traceId = request.getHeader(B3_TRACE_ID_HEADER);
+        String spanId = request.getHeader(B3_SPAN_ID_HEADER);
+        Boolean sampled = b3Sampled(request.getHeader(B3_SAMPLED_HEADER));
+        if (traceId != null && B3_ID.matcher(traceId).matches())
+            return new TraceContext(padTraceId(traceId), spanId, sampled);
+        return new TraceContext(null, null, sampled);
+    }
+
+    public String traceparent(String spanId, boolean sampled) {
+        return "00-" + getTraceId() + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    public static String newSpanId() {
+        return hex(ThreadLocalRandom.current().nextLong());
+    }
+
+    private static String hex(long value) {
+        String hex = Long.toHexString(value);
+        return "0000000000000000".substring(hex.length()) + hex;
+    }
+
+    private static String padTraceId(String traceId) {
+        return traceId.length() == 32 ? traceId : "0000000000000000" + traceId;
+    }
+
+    private static Boolean b3Sampled(String flag) {
+        if (flag == null)
+            return null;
+        return flag.equals("1") || flag.equals("d") || flag.equalsIgnoreCase("true");
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.muller.beerstock.tracing;
+
+/**
+ * Holds the trace of the request being handled by the current thread. Unsampled requests have no trace,
+ * so {@link #start(String)} costs one thread-local read for them.
+ */
+public class Tracer {
+
+    private final ThreadLocal<Trace> currentTrace = new ThreadLocal<>();
+
+    public Trace begin(TraceContext context, String spanId) {
+        Trace trace = new Trace(context, spanId);
+        currentTrace.set(trace);
+        return trace;
+    }
+
+    public void clear() {
+        currentTrace.remove();
+    }
+
+    public Span start(String name) {
+        Trace trace = currentTrace.get();
+        return trace == null ? null : trace.start(name);
+    }
+
+    public void end(Span span) {
+        Trace trace = currentTrace.get();
+        if (trace != null && span != null)
+            trace.end(span);
+    }
+
+    public boolean isSampled() {
+        return currentTrace.get() != null;
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.muller.beerstock.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+@Aspect
+public class TracingAspect {
+
+    private final Tracer tracer;
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("within(br.com.muller.beerstock.controller..*) || within(br.com.muller.beerstock.service..*)")
+    public Object traceComponent(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!tracer.isSampled())
+            return joinPoint.proceed();
+        return trace(joinPoint, joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("this(br.com.muller.beerstock.repository.BeerRepository)")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!tracer.isSampled())
+            return joinPoint.proceed();
+        return trace(joinPoint, "BeerRepository");
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String type) throws Throwable {
+        Span span = tracer.start(type + "." + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            tracer.end(span);
+        }
+    }
+}
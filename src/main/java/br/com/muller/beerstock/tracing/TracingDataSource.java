@@ -0,0 +1,84 @@
+package br.com.muller.beerstock.tracing;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Adds a span around every statement execution of sampled requests, named after its SQL. Requests that
+ * are not sampled get the pool's connections and statements as they are, without any proxy in between.
+ */
+public class TracingDataSource extends DelegatingDataSource {
+
+    private static final int MAX_SQL_LENGTH = 120;
+
+    private final Tracer tracer;
+
+    public TracingDataSource(DataSource targetDataSource, Tracer tracer) {
+        super(targetDataSource);
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return tracing(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return tracing(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection tracing(Connection connection) {
+        if (!tracer.isSampled())
+            return connection;
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (!tracer.isSampled())
+                return result;
+            if (result instanceof CallableStatement)
+                return proxy(CallableStatement.class, result, statementHandler((Statement) result, (String) args[0]));
+            if (result instanceof PreparedStatement)
+                return proxy(PreparedStatement.class, result, statementHandler((Statement) result, (String) args[0]));
+            if (result instanceof Statement)
+                return proxy(Statement.class, result, statementHandler((Statement) result, null));
+            return result;
+        });
+    }
+
+    private InvocationHandler statementHandler(Statement statement, String preparedSql) {
+        return (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute") || !tracer.isSampled())
+                return invoke(statement, method, args);
+            String sql = preparedSql != null ? preparedSql : args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : method.getName();
+            Span span = tracer.start("SQL " + (sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql));
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                tracer.end(span);
+            }
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
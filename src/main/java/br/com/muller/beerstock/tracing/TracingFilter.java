@@ -0,0 +1,63 @@
+package br.com.muller.beerstock.tracing;
+
+import br.com.muller.beerstock.config.TracingProperties;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the trace of each request, honoring the caller's trace id and sampling decision, and logs the
+ * request as a slow operation when it crosses the threshold. Time in the root span that no child span
+ * accounts for is spent in filters, interceptors and writing the response.
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final Tracer tracer;
+    private final SlowOperationLog slowOperationLog;
+    private final double sampleRate;
+    private final long slowThresholdMillis;
+    private final long slowThresholdNanos;
+
+    public TracingFilter(Tracer tracer, SlowOperationLog slowOperationLog, TracingProperties properties) {
+        this.tracer = tracer;
+        this.slowOperationLog = slowOperationLog;
+        this.sampleRate = properties.getSampleRate();
+        this.slowThresholdMillis = properties.getSlowThresholdMillis();
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        TraceContext context = TraceContext.from(request);
+        boolean sampled = context.getSampled() != null ? context.getSampled() : sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        Trace trace = null;
+        Span root = null;
+        if (sampled || context.isPropagated()) {
+            String spanId = TraceContext.newSpanId();
+            String traceparent = context.traceparent(spanId, sampled);
+            request.setAttribute(TraceContext.TRACEPARENT_ATTRIBUTE, traceparent);
+            response.setHeader(TraceContext.TRACEPARENT_HEADER, traceparent);
+            if (sampled) {
+                trace = tracer.begin(context, spanId);
+                root = tracer.start(request.getMethod() + " " + request.getRequestURI());
+            }
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            tracer.end(root);
+            tracer.clear();
+            long duration = System.nanoTime() - start;
+            if (duration >= slowThresholdNanos)
+                slowOperationLog.log(request.getMethod() + " " + request.getRequestURI(), response.getStatus(), duration,
+                        slowThresholdMillis, context.getTraceId(), trace);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.muller.beerstock.utils;
+
+import org.springframework.http.HttpMethod;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.function.Predicate;
+
+public class RequestUtils {
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+    public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+    /**
+     * Set by filters that know better than the HTTP method whether a request writes, such as GraphQL POSTs.
+     */
+    public static final String WRITE_ATTRIBUTE = RequestUtils.class.getName() + ".write";
+
+    /**
+     * Self-declared client identity, only good for read-your-writes stickiness: anything that limits or
+     * accounts for a client must use {@link #clientAddress(HttpServletRequest, Predicate)} instead.
+     */
+    public static String clientId(HttpServletRequest request) {
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+        if (clientId != null && !clientId.isBlank())
+            return clientId.trim();
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * The address the request came from. {@code X-Forwarded-For} is only honoured when the connection comes
+     * from one of the trusted proxies, and then the rightmost entry not added by a trusted proxy is taken,
+     * since everything left of it was written by the client.
+     */
+    public static String clientAddress(HttpServletRequest request, Predicate<String> trustedProxy) {
+        String address = request.getRemoteAddr();
+        if (!trustedProxy.test(address))
+            return address;
+        String forwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+        if (forwardedFor == null)
+            return address;
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty())
+                break;
+            address = hop;
+            if (!trustedProxy.test(hop))
+                break;
+        }
+        return address;
+    }
+
+    public static boolean isWrite(HttpServletRequest request) {
+        Object write = request.getAttribute(WRITE_ATTRIBUTE);
+        if (write != null)
+            return (Boolean) write;
+        HttpMethod method = HttpMethod.resolve(request.getMethod());
+        return method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.OPTIONS;
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.muller.beerstock.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Map holding at most {@code maxSize} entries, evicting the least recently used one of a stripe when a
+ * new key arrives. Keys are spread over independently locked stripes, each an access-ordered map with
+ * its share of the capacity, so concurrent callers only contend when their keys share a stripe and no
+ * operation ever scans the map.
+ */
+public class StripedLruMap<K, V> {
+
+    private static final int MAX_STRIPES = 64;
+
+    private final List<Map<K, V>> stripes;
+
+    public StripedLruMap(int maxSize) {
+        int stripeCount = Math.max(1, Math.min(MAX_STRIPES, maxSize));
+        int stripeSize = Math.max(1, maxSize / stripeCount);
+        this.stripes = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++)
+            stripes.add(new LinkedHashMap<K, V>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    return size() > stripeSize;
+                }
+            });
+    }
+
+    public V get(K key) {
+        Map<K, V> stripe = stripeOf(key);
+        synchronized (stripe) {
+            return stripe.get(key);
+        }
+    }
+
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Map<K, V> stripe = stripeOf(key);
+        synchronized (stripe) {
+            return stripe.computeIfAbsent(key, mappingFunction);
+        }
+    }
+
+    public void put(K key, V value) {
+        Map<K, V> stripe = stripeOf(key);
+        synchronized (stripe) {
+            stripe.put(key, value);
+        }
+    }
+
+    public void remove(K key) {
+        Map<K, V> stripe = stripeOf(key);
+        synchronized (stripe) {
+            stripe.remove(key);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private Map<K, V> stripeOf(K key) {
+        int hash = key.hashCode();
+        return stripes.get(Math.floorMod(hash ^ (hash >>> 16), stripes.size()));
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.muller.beerstock.warmup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Counts lookups by beer name and keeps the most requested names in a file, so the next start of the
+ * instance can preload them. Counts are halved on every save so yesterday's favourites fade out.
+ * Lookups made by the warm-up itself are not counted, see {@link #pauseOnCurrentThread()}.
+ */
+@Slf4j
+public class HotBeerTracker {
+
+    private final Path file;
+    private final int maxTracked;
+    private final int saved;
+    private final Map<String, LongAdder> lookups = new ConcurrentHashMap<>();
+    private final ThreadLocal<Boolean> paused = new ThreadLocal<>();
+
+    public HotBeerTracker(Path file, int maxTracked, int saved) {
+        this.file = file;
+        this.maxTracked = maxTracked;
+        this.saved = saved;
+    }
+
+    public void pauseOnCurrentThread() {
+        paused.set(Boolean.TRUE);
+    }
+
+    public void resumeOnCurrentThread() {
+        paused.remove();
+    }
+
+    public void record(String name) {
+        if (paused.get() != null)
+            return;
+        LongAdder count = lookups.get(name);
+        if (count == null) {
+            if (lookups.size() >= maxTracked)
+                return;
+            count = lookups.computeIfAbsent(name, key -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    public List<String> hottest(int limit) {
+        return lookups.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Names saved by the previous run, most requested first.
+     */
+    public List<String> load() {
+        if (file == null || !Files.isReadable(file))
+            return List.of();
+        try {
+            return Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                    .filter(name -> !name.isBlank())
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.warn("Could not read hot beers from {}", file, e);
+            return List.of();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.warmup.hot-beers-save-millis:300000}",
+            initialDelayString = "${beerstock.warmup.hot-beers-save-millis:300000}")
+    public void save() {
+        List<String> hottest = hottest(saved);
+        lookups.values().forEach(count -> {
+            long halved = count.sumThenReset() / 2;
+            count.add(halved);
+        });
+        lookups.values().removeIf(count -> count.sum() == 0);
+        if (file == null || hottest.isEmpty())
+            return;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temporary = Files.createTempFile(parent, "hot-beers", ".tmp");
+            Files.write(temporary, hottest, StandardCharsets.UTF_8);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not save hot beers to {}", file, e);
+        }
+    }
+}
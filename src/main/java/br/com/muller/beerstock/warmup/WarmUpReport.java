@@ -0,0 +1,22 @@
+package br.com.muller.beerstock.warmup;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class WarmUpReport {
+
+    private final long elapsedMillis;
+    private final int connections;
+    private final int preloadedBeers;
+    private final int syntheticCalls;
+
+    /**
+     * Time of the first synthetic call against the average of the last tenth, the effect of the warm-up.
+     */
+    private final long firstCallMicros;
+    private final long lastCallsMicros;
+}
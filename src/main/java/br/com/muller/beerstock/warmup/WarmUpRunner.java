@@ -0,0 +1,187 @@
+package br.com.muller.beerstock.warmup;
+
+import br.com.muller.beerstock.config.WarmUpProperties;
+import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.enums.BeerType;
+import br.com.muller.beerstock.exception.BeerNotFoundException;
+import br.com.muller.beerstock.json.BeerJsonWriter;
+import br.com.muller.beerstock.mapper.BeerMapper;
+import br.com.muller.beerstock.repository.BeerRepository;
+import br.com.muller.beerstock.routing.ReplicaRoutingDataSource;
+import br.com.muller.beerstock.service.BeerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Warms the instance up before it takes traffic: fills the connection pools, preloads the beers
+ * requested most before the last restart and runs the lookup and serialization paths until the JIT
+ * has compiled them. Spring Boot reports the instance ready only after application runners return,
+ * so the readiness probe keeps load balancers away until the warm-up is over.
+ */
+@Slf4j
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final OutputStream DISCARD = OutputStream.nullOutputStream();
+    private static final int CONNECTION_VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final DataSource dataSource;
+    private final BeerService beerService;
+    private final BeerRepository beerRepository;
+    private final HotBeerTracker hotBeerTracker;
+    private final BeerJsonWriter beerJsonWriter;
+    private final WarmUpProperties properties;
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+
+    @Autowired
+    public WarmUpRunner(DataSource dataSource, BeerService beerService, BeerRepository beerRepository,
+                        HotBeerTracker hotBeerTracker, ObjectMapper objectMapper, WarmUpProperties properties) {
+        this.dataSource = dataSource;
+        this.beerService = beerService;
+        this.beerRepository = beerRepository;
+        this.hotBeerTracker = hotBeerTracker;
+        this.beerJsonWriter = new BeerJsonWriter(objectMapper.getFactory());
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (properties.isEnabled())
+            warmUp();
+    }
+
+    public WarmUpReport warmUp() {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(properties.getTimeoutMillis());
+        int connections = 0;
+        for (DataSource pool : pools(dataSource))
+            connections += openConnections(pool);
+        List<String> names = hotBeerNames();
+        int preloaded;
+        long[] callNanos;
+        hotBeerTracker.pauseOnCurrentThread();
+        try {
+            preloaded = preload(names, deadline);
+            callNanos = exercise(names, deadline);
+        } finally {
+            hotBeerTracker.resumeOnCurrentThread();
+        }
+        WarmUpReport report = new WarmUpReport((System.nanoTime() - start) / 1_000_000, connections, preloaded,
+                callNanos.length, callNanos.length == 0 ? 0 : callNanos[0] / 1_000, lastTenthMicros(callNanos));
+        log.info("Warm-up finished in {} ms: {} connections opened, {} beers preloaded, {} synthetic calls taking {} us at first and {} us at the end",
+                report.getElapsedMillis(), report.getConnections(), report.getPreloadedBeers(), report.getSyntheticCalls(),
+                report.getFirstCallMicros(), report.getLastCallsMicros());
+        return report;
+    }
+
+    /**
+     * The connection pools behind the application's DataSource: the wrappers in front of them (tracing,
+     * lazy connection proxy) hand out connections without touching a pool, and with replicas every
+     * pool has to be filled.
+     */
+    private static List<DataSource> pools(DataSource dataSource) {
+        if (dataSource instanceof DelegatingDataSource)
+            return pools(((DelegatingDataSource) dataSource).getTargetDataSource());
+        if (dataSource instanceof ReplicaRoutingDataSource)
+            return ((ReplicaRoutingDataSource) dataSource).getTargets();
+        return List.of(dataSource);
+    }
+
+    /**
+     * Holds the connections together so the pool has to open each of them now; validating each one
+     * makes sure a physical connection is behind it.
+     */
+    private int openConnections(DataSource pool) {
+        List<Connection> connections = new ArrayList<>();
+        try {
+            while (connections.size() < properties.getConnections()) {
+                Connection connection = pool.getConnection();
+                connections.add(connection);
+                connection.isValid(CONNECTION_VALIDATION_TIMEOUT_SECONDS);
+            }
+        } catch (SQLException e) {
+            log.warn("Warm-up opened only {} connections", connections.size(), e);
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.warn("Could not return warm-up connection", e);
+                }
+            }
+        }
+        return connections.size();
+    }
+
+    private List<String> hotBeerNames() {
+        List<String> names = hotBeerTracker.load();
+        if (names.isEmpty())
+            names = beerRepository.findFields(Set.of("name"), null, null, null, properties.getPreloadBeers()).stream()
+                    .map(beer -> (String) beer.get("name"))
+                    .collect(Collectors.toList());
+        return names.size() > properties.getPreloadBeers() ? names.subList(0, properties.getPreloadBeers()) : names;
+    }
+
+    private int preload(List<String> names, long deadline) {
+        int preloaded = 0;
+        for (String name : names) {
+            if (System.nanoTime() > deadline)
+                break;
+            if (lookUp(name) != null)
+                preloaded++;
+        }
+        return preloaded;
+    }
+
+    private long[] exercise(List<String> names, long deadline) {
+        BeerDTO syntheticBeer = new BeerDTO(0L, "Warm-up", "Warm-up", 500, 0, BeerType.LAGER);
+        long[] callNanos = new long[properties.getIterations()];
+        int calls = 0;
+        try {
+            while (calls < callNanos.length && System.nanoTime() <= deadline) {
+                long start = System.nanoTime();
+                BeerDTO beer = names.isEmpty() ? null : lookUp(names.get(calls % names.size()));
+                BeerDTO mapped = beerMapper.toDTO(beerMapper.toModel(beer == null ? syntheticBeer : beer));
+                beerJsonWriter.write(mapped, DISCARD);
+                callNanos[calls++] = System.nanoTime() - start;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Warm-up calls stopped after {} calls", calls, e);
+        }
+        long[] done = new long[calls];
+        System.arraycopy(callNanos, 0, done, 0, calls);
+        return done;
+    }
+
+    private BeerDTO lookUp(String name) {
+        try {
+            return beerService.findByName(name);
+        } catch (BeerNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static long lastTenthMicros(long[] callNanos) {
+        int from = callNanos.length - Math.max(callNanos.length / 10, 1);
+        long total = 0;
+        for (int i = Math.max(from, 0); i < callNanos.length; i++)
+            total += callNanos[i];
+        return callNanos.length == 0 ? 0 : total / (callNanos.length - Math.max(from, 0)) / 1_000;
+    }
+}
@@ -0,0 +1 @@
+ALTER TABLE beer ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,16 @@
+CREATE TABLE stock_snapshot (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    taken_at TIMESTAMP NOT NULL,
+    beer_count INTEGER NOT NULL,
+    payload BLOB NOT NULL
+);
+CREATE INDEX ix_stock_snapshot_taken_at ON stock_snapshot (taken_at);
+
+CREATE TABLE stock_delta (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    beer_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    quantity INTEGER,
+    recorded_at TIMESTAMP NOT NULL
+);
+CREATE INDEX ix_stock_delta_recorded_at ON stock_delta (recorded_at);
@@ -0,0 +1,4 @@
+ALTER TABLE beer ADD COLUMN deleted BOOLEAN DEFAULT FALSE NOT NULL;
+CREATE INDEX ix_beer_deleted ON beer (deleted);
+CREATE INDEX ix_beer_brand ON beer (brand);
+CREATE INDEX ix_beer_type ON beer (type);
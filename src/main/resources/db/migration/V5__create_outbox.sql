@@ -0,0 +1,14 @@
+CREATE TABLE outbox_event (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    type VARCHAR(16) NOT NULL,
+    beer_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    payload VARCHAR(4096) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE outbox_offset (
+    consumer VARCHAR(255) PRIMARY KEY,
+    last_event_id BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,74 @@
+package br.com.muller.beerstock.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+public class BenchmarkRunner {
+
+    public static double measure(String name, int warmupIterations, int iterations, Operation operation) throws Exception {
+        for (int i = 0; i < warmupIterations; i++)
+            operation.run(i);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++)
+            operation.run(i);
+        long elapsed = System.nanoTime() - start;
+        double opsPerSecond = iterations / (elapsed / (double) TimeUnit.SECONDS.toNanos(1));
+        System.out.printf("[benchmark] %-40s %12.1f ops/s %10.1f us/op%n",
+                name, opsPerSecond, elapsed / 1_000.0 / iterations);
+        return opsPerSecond;
+    }
+
+    /**
+     * Prints the bytes allocated by the calling thread per operation and the collections run meanwhile.
+     */
+    public static double measureAllocations(String name, int warmupIterations, int iterations, Operation operation) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < warmupIterations; i++)
+            operation.run(i);
+        long collections = collectionCount();
+        long collectionMillis = collectionMillis();
+        long allocated = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++)
+            operation.run(i);
+        long elapsed = System.nanoTime() - start;
+        double bytesPerOp = (threads.getThreadAllocatedBytes(threadId) - allocated) / (double) iterations;
+        System.out.printf("[benchmark] %-40s %12.1f B/op %10.1f us/op %6d GCs %6d ms in GC%n",
+                name, bytesPerOp, elapsed / 1_000.0 / iterations, collectionCount() - collections, collectionMillis() - collectionMillis);
+        return bytesPerOp;
+    }
+
+    /**
+     * Prints the CPU time the whole process spent per operation, which includes the server side of
+     * calls made to an in-process server.
+     */
+    public static double measureCpu(String name, int warmupIterations, int iterations, Operation operation) throws Exception {
+        com.sun.management.OperatingSystemMXBean os = (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        for (int i = 0; i < warmupIterations; i++)
+            operation.run(i);
+        long cpu = os.getProcessCpuTime();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++)
+            operation.run(i);
+        long elapsed = System.nanoTime() - start;
+        double cpuMicrosPerOp = (os.getProcessCpuTime() - cpu) / 1_000.0 / iterations;
+        System.out.printf("[benchmark] %-40s %10.1f us/op %10.1f us CPU/op%n",
+                name, elapsed / 1_000.0 / iterations, cpuMicrosPerOp);
+        return cpuMicrosPerOp;
+    }
+
+    private static long collectionCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long collectionMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    @FunctionalInterface
+    public interface Operation {
+        void run(int iteration) throws Exception;
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.muller.beerstock.benchmark;
+
+import br.com.muller.beerstock.entity.Beer;
+import br.com.muller.beerstock.enums.BeerType;
+import br.com.muller.beerstock.repository.BeerRepository;
+import br.com.muller.beerstock.service.BeerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compare the default and prod profiles with:
+ * mvn test -Pbenchmark -Dtest=JpaTuningBenchmark
+ * mvn test -Pbenchmark -Dtest=JpaTuningBenchmark -Dspring.profiles.active=prod
+ */
+@Tag("benchmark")
+@SpringBootTest
+public class JpaTuningBenchmark {
+    private static final int BEERS = 10_000;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private Environment environment;
+
+    private List<Beer> savedBeers;
+
+    @BeforeEach
+    void setUp() {
+        beerRepository.deleteAllInBatch();
+        List<Beer> beers = new ArrayList<>(BEERS);
+        for (int i = 0; i < BEERS; i++)
+            beers.add(new Beer(null, "Beer " + i, "Brand " + i % 50, 500, 0, BeerType.values()[i % BeerType.values().length], null));
+        long start = System.nanoTime();
+        savedBeers = beerRepository.saveAll(beers);
+        System.out.printf("[benchmark] profiles=%s seeded %d beers in %d ms%n",
+                Arrays.toString(environment.getActiveProfiles()), BEERS, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Test
+    void throughput() throws Exception {
+        BenchmarkRunner.measure("findByName", 2_000, 20_000,
+                i -> beerService.findByName("Beer " + i % BEERS));
+        BenchmarkRunner.measure("listAll (" + BEERS + " rows)", 5, 50,
+                i -> beerService.listAll());
+        BenchmarkRunner.measure("increment", 2_000, 20_000,
+                i -> beerService.increment(savedBeers.get(i % BEERS).getId(), 0));
+    }
+}
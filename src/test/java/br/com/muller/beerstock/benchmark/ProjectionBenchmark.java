@@ -0,0 +1,68 @@
+package br.com.muller.beerstock.benchmark;
+
+import br.com.muller.beerstock.mapper.BeerMapper;
+import br.com.muller.beerstock.repository.BeerRepository;
+import br.com.muller.beerstock.service.BeerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Collectors;
+
+/**
+ * Managed entities against projections for the read paths, with 100k beers:
+ * mvn test -Pbenchmark -Dtest=ProjectionBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "beerstock.cache.enabled=false")
+public class ProjectionBenchmark {
+    private static final int BEERS = 100_000;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+
+    @BeforeEach
+    void setUp() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM beer");
+            jdbcTemplate.update("INSERT INTO beer (name, brand, max, quantity, type) " +
+                    "SELECT 'Beer ' || X, 'Brand ' || MOD(X, 50), 500, MOD(X, 100), 'LAGER' FROM SYSTEM_RANGE(1, ?)", BEERS);
+        });
+    }
+
+    @Test
+    void readPaths() throws Exception {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        BenchmarkRunner.measureAllocations("listAll entities (read-write tx)", 3, 10,
+                i -> readWrite.execute(status -> beerRepository.findAll().stream().map(beerMapper::toDTO).collect(Collectors.toList())));
+        BenchmarkRunner.measureAllocations("listAll entities (read-only tx)", 3, 10,
+                i -> readOnly.execute(status -> beerRepository.findAll().stream().map(beerMapper::toDTO).collect(Collectors.toList())));
+        BenchmarkRunner.measureAllocations("listAll projection", 3, 10,
+                i -> beerService.listAll());
+
+        BenchmarkRunner.measureAllocations("findByName entity (read-only tx)", 2_000, 20_000,
+                i -> readOnly.execute(status -> beerMapper.toDTO(beerRepository.findByName("Beer " + (i % BEERS + 1)).orElseThrow())));
+        BenchmarkRunner.measureAllocations("findByName projection (read-only tx)", 2_000, 20_000,
+                i -> readOnly.execute(status -> beerMapper.toDTO(beerRepository.findViewByName("Beer " + (i % BEERS + 1)).orElseThrow())));
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.muller.beerstock.benchmark;
+
+import br.com.muller.beerstock.BeerstockApplication;
+import br.com.muller.beerstock.service.BeerService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+
+/**
+ * Restart-to-ready time of the persistent profile with a million beers on disk.
+ * Both starts share one JVM, so the measured restart excludes JVM and class loading cost.
+ */
+@Tag("benchmark")
+public class RecoveryBenchmark {
+    private static final int BEERS = 1_000_000;
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void restartToReady() throws Exception {
+        try (ConfigurableApplicationContext context = start()) {
+            long start = System.nanoTime();
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                    "INSERT INTO beer (name, brand, max, quantity, type) " +
+                    "SELECT 'Beer ' || X, 'Brand ' || MOD(X, 50), 500, MOD(X, 100), 'LAGER' FROM SYSTEM_RANGE(1, ?)", BEERS));
+            System.out.printf("[benchmark] seeded %d beers in %d ms%n", BEERS, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = start()) {
+            long started = System.nanoTime();
+            context.getBean(BeerService.class).findByName("Beer " + BEERS / 2);
+            long firstLookup = System.nanoTime();
+            System.out.printf("[benchmark] restart with %d beers: context ready after %d ms, first lookup after %d ms%n",
+                    BEERS, (started - start) / 1_000_000, (firstLookup - start) / 1_000_000);
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(BeerstockApplication.class)
+                .profiles("persistent")
+                .properties("server.port=0", "beerstock.data-dir=" + dataDir)
+                .run();
+    }
+}
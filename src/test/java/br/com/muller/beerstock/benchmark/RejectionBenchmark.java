@@ -0,0 +1,65 @@
+package br.com.muller.beerstock.benchmark;
+
+import br.com.muller.beerstock.builder.BeerDTOBuilder;
+import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.exception.BeerStockLessThenZeroException;
+import br.com.muller.beerstock.service.BeerService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Cost of a decrement rejected for lack of stock against one that succeeds, in the service and over HTTP:
+ * mvn test -Pbenchmark -Dtest=RejectionBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"beerstock.rate-limit.enabled=false", "beerstock.warmup.enabled=false"})
+public class RejectionBenchmark {
+    private static final int WARMUP = 2_000;
+    private static final int CALLS = 10_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Test
+    void rejectedAgainstAccepted() throws Exception {
+        BeerDTO beer = beerService.createBeer(BeerDTOBuilder.builder().id(null).name("Rejection Lager").build().toBeerDTO());
+        int tooMany = beer.getQuantity() + 1;
+
+        BenchmarkRunner.measureAllocations("decrement accepted (service)", WARMUP, CALLS,
+                i -> beerService.decrement(beer.getId(), 0));
+        BenchmarkRunner.measureAllocations("decrement rejected (service)", WARMUP, CALLS,
+                i -> {
+                    try {
+                        beerService.decrement(beer.getId(), tooMany);
+                    } catch (BeerStockLessThenZeroException expected) {
+                    }
+                });
+
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest accepted = decrement(beer.getId(), 0);
+        HttpRequest rejected = decrement(beer.getId(), tooMany);
+        BenchmarkRunner.measureCpu("decrement accepted (HTTP)", WARMUP, CALLS,
+                i -> http.send(accepted, HttpResponse.BodyHandlers.ofByteArray()));
+        BenchmarkRunner.measureCpu("decrement rejected (HTTP)", WARMUP, CALLS,
+                i -> http.send(rejected, HttpResponse.BodyHandlers.ofByteArray()));
+    }
+
+    private HttpRequest decrement(Long id, int quantity) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/beers/" + id + "/decrement"))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"quantity\":" + quantity + "}"))
+                .build();
+    }
+}
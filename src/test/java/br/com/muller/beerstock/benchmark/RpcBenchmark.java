@@ -0,0 +1,70 @@
+package br.com.muller.beerstock.benchmark;
+
+import br.com.muller.beerstock.builder.BeerDTOBuilder;
+import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.grpc.GrpcServer;
+import br.com.muller.beerstock.grpc.proto.BeerStockGrpc;
+import br.com.muller.beerstock.grpc.proto.FindByNameRequest;
+import br.com.muller.beerstock.grpc.proto.QuantityRequest;
+import br.com.muller.beerstock.service.BeerService;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Per-call latency and CPU of the REST endpoints against their gRPC counterparts, one call at a time
+ * over a kept-alive connection:
+ * mvn test -Pbenchmark -Dtest=RpcBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"beerstock.grpc.enabled=true", "beerstock.grpc.port=0", "beerstock.rate-limit.enabled=false"})
+public class RpcBenchmark {
+    private static final int WARMUP = 2_000;
+    private static final int CALLS = 10_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private GrpcServer grpcServer;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Test
+    void latencyAndCpu() throws Exception {
+        BeerDTO beer = beerService.createBeer(BeerDTOBuilder.builder().id(null).name("Rpc Lager").build().toBeerDTO());
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest findByName = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/beers/Rpc%20Lager")).build();
+        HttpRequest increment = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/beers/" + beer.getId() + "/increment"))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"quantity\":0}"))
+                .build();
+        ManagedChannel channel = ManagedChannelBuilder.forAddress("localhost", grpcServer.getPort()).usePlaintext().build();
+        BeerStockGrpc.BeerStockBlockingStub stub = BeerStockGrpc.newBlockingStub(channel);
+        FindByNameRequest findByNameRequest = FindByNameRequest.newBuilder().setName("Rpc Lager").build();
+        QuantityRequest incrementRequest = QuantityRequest.newBuilder().setId(beer.getId()).setQuantity(0).build();
+        try {
+            BenchmarkRunner.measureCpu("findByName REST", WARMUP, CALLS,
+                    i -> http.send(findByName, HttpResponse.BodyHandlers.ofByteArray()));
+            BenchmarkRunner.measureCpu("findByName gRPC", WARMUP, CALLS,
+                    i -> stub.findByName(findByNameRequest));
+            BenchmarkRunner.measureCpu("increment REST", WARMUP, CALLS,
+                    i -> http.send(increment, HttpResponse.BodyHandlers.ofByteArray()));
+            BenchmarkRunner.measureCpu("increment gRPC", WARMUP, CALLS,
+                    i -> stub.increment(incrementRequest));
+        } finally {
+            channel.shutdownNow();
+        }
+    }
+}
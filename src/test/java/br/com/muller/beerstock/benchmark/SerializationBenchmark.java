@@ -0,0 +1,77 @@
+package br.com.muller.beerstock.benchmark;
+
+import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.entity.Beer;
+import br.com.muller.beerstock.enums.BeerType;
+import br.com.muller.beerstock.json.BeerJsonHttpMessageConverter;
+import br.com.muller.beerstock.json.BeerJsonWriter;
+import br.com.muller.beerstock.mapper.BeerMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Bytes allocated per response by the Jackson converter and by the beer fast path:
+ * mvn test -Pbenchmark -Dtest=SerializationBenchmark
+ */
+@Tag("benchmark")
+public class SerializationBenchmark {
+    private static final int BEERS = 1_000;
+    private static final Type BEER_LIST = ResolvableType.forClassWithGenerics(List.class, BeerDTO.class).getType();
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final MappingJackson2HttpMessageConverter jacksonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+    private final BeerJsonHttpMessageConverter beerConverter = new BeerJsonHttpMessageConverter(new BeerJsonWriter(objectMapper.getFactory()));
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+
+    @Test
+    void allocations() throws Exception {
+        List<Beer> beers = new ArrayList<>(BEERS);
+        for (int i = 0; i < BEERS; i++)
+            beers.add(new Beer((long) i, "Beer " + i, "Brand " + i % 50, 500, i % 100, BeerType.values()[i % BeerType.values().length], 0L));
+        Beer beer = beers.get(0);
+
+        BenchmarkRunner.measureAllocations("findByName jackson (toDTO + write)", 50_000, 200_000,
+                i -> write(jacksonConverter, beerMapper.toDTO(beer), BeerDTO.class));
+        BenchmarkRunner.measureAllocations("findByName fast path (entity)", 50_000, 200_000,
+                i -> write(beerConverter, beer, BeerDTO.class));
+        BenchmarkRunner.measureAllocations("listAll jackson (toDTO + write)", 500, 2_000,
+                i -> write(jacksonConverter, beers.stream().map(beerMapper::toDTO).collect(Collectors.toList()), BEER_LIST));
+        BenchmarkRunner.measureAllocations("listAll fast path (DTOs)", 500, 2_000,
+                i -> write(beerConverter, beers.stream().map(beerMapper::toDTO).collect(Collectors.toList()), BEER_LIST));
+        BenchmarkRunner.measureAllocations("listAll fast path (entities)", 500, 2_000,
+                i -> write(beerConverter, beers, BEER_LIST));
+    }
+
+    private void write(GenericHttpMessageConverter<Object> converter, Object body, Type type) throws Exception {
+        converter.write(body, type, MediaType.APPLICATION_JSON, new DiscardingOutputMessage());
+    }
+
+    private static class DiscardingOutputMessage implements HttpOutputMessage {
+        private static final OutputStream DISCARD = OutputStream.nullOutputStream();
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return DISCARD;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.muller.beerstock.benchmark;
+
+import br.com.muller.beerstock.BeerstockApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start of a fresh JVM per profile, measured until the first request to the beer API is answered.
+ * The test classpath is used unless -Dbenchmark.jar points to the jar built by the cds profile;
+ * extra JVM flags (for instance -XX:SharedArchiveFile=target/beerstock.jsa) are passed with -Dbenchmark.jvmArgs.
+ */
+@Tag("benchmark")
+public class StartupBenchmark {
+    private static final long TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    @Test
+    void timeToFirstRequest() throws Exception {
+        measure("default");
+        measure("fast-start");
+    }
+
+    private void measure(String profile) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        String jvmArgs = System.getProperty("benchmark.jvmArgs", "");
+        if (!jvmArgs.isBlank())
+            command.addAll(List.of(jvmArgs.trim().split("\\s+")));
+        String jar = System.getProperty("benchmark.jar");
+        if (jar == null)
+            command.addAll(List.of("-cp", System.getProperty("java.class.path"), BeerstockApplication.class.getName()));
+        else
+            command.addAll(List.of("-jar", jar));
+        command.add("--spring.profiles.active=" + profile);
+        command.add("--server.port=" + port);
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            URL url = new URL("http://localhost:" + port + "/api/v1/beers");
+            while (!answers(url)) {
+                if (!process.isAlive() || System.nanoTime() - start > TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS))
+                    throw new IllegalStateException("Application with profile " + profile + " did not answer");
+                Thread.sleep(10);
+            }
+            System.out.printf("[benchmark] profile=%-10s first request answered after %5d ms%n",
+                    profile, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            process.destroy();
+            process.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private boolean answers(URL url) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(50);
+            return connection.getResponseCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.muller.beerstock.cache;
+
+import br.com.muller.beerstock.builder.BeerDTOBuilder;
+import br.com.muller.beerstock.dto.BeerDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class BeerCacheTest {
+
+    private final BeerDTO beer = BeerDTOBuilder.builder().build().toBeerDTO();
+
+    @Test
+    void whenBeerIsInvalidatedThenAnOlderLoadShouldNotBeCachedAgain() {
+        BeerCache cache = new BeerCache(100, 60_000);
+        cache.put(beer.getName(), beer, 1);
+
+        cache.invalidate(beer.getName(), 2);
+        cache.put(beer.getName(), beer, 1);
+        assertThat(cache.get(beer.getName()), is(Optional.empty()));
+
+        cache.put(beer.getName(), beer, 2);
+        assertThat(cache.get(beer.getName()), is(Optional.of(beer)));
+    }
+
+    @Test
+    void whenEntryIsOlderThanTheStalenessBoundThenItShouldNotBeServed() throws InterruptedException {
+        BeerCache cache = new BeerCache(100, 20);
+        cache.put(beer.getName(), beer, 0);
+
+        Thread.sleep(40);
+
+        assertThat(cache.get(beer.getName()), is(Optional.empty()));
+    }
+
+    @Test
+    void whenCacheIsFullThenNewNamesShouldNotBeCached() {
+        BeerCache cache = new BeerCache(1, 60_000);
+        cache.put("Brahma", beer, 0);
+        cache.put("Skol", beer, 0);
+
+        assertThat(cache.size(), is(1));
+        assertThat(cache.get("Skol"), is(Optional.empty()));
+    }
+
+    @Test
+    void whenInvalidationIsPublishedThenPeerCacheShouldDropTheEntry() throws Exception {
+        BeerCache localCache = new BeerCache(100, 60_000);
+        BeerCache peerCache = new BeerCache(100, 60_000);
+        UdpInvalidationBus peerBus = new UdpInvalidationBus(0, List.of(), peerCache);
+        UdpInvalidationBus localBus = new UdpInvalidationBus(0, List.of("localhost:" + peerBus.getLocalPort()), localCache);
+        peerBus.start();
+        localBus.start();
+        try {
+            peerCache.put(beer.getName(), beer, 1);
+
+            localBus.publish(beer.getName(), 2);
+
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (peerCache.get(beer.getName()).isPresent() && System.currentTimeMillis() < deadline)
+                Thread.sleep(10);
+            assertThat(peerCache.get(beer.getName()), is(Optional.empty()));
+        } finally {
+            localBus.stop();
+            peerBus.stop();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.muller.beerstock.capacity;
+
+import br.com.muller.beerstock.enums.BeerType;
+import br.com.muller.beerstock.exception.BeerCapacityExceededException;
+import br.com.muller.beerstock.repository.BeerRepository;
+import br.com.muller.beerstock.repository.CapacityUsage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CapacityGuardTest {
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    private final CapacityGroup coldRoom = new CapacityGroup("cold-room", Set.of(BeerType.STOUT, BeerType.IPA), Set.of(), 100);
+    private final CapacityGroup premium = new CapacityGroup("premium", Set.of(), Set.of("Colorado"), 30);
+
+    @Test
+    void whenBeersSharingAGroupWouldOverflowItThenTheChangeIsRejectedWithoutRunning() throws Exception {
+        CapacityGuard capacityGuard = new CapacityGuard(List.of(coldRoom), beerRepository);
+
+        capacityGuard.guard(BeerType.STOUT, "Guinness", 60, () -> null);
+        capacityGuard.guard(BeerType.IPA, "Lagunitas", 40, () -> null);
+
+        assertThrows(BeerCapacityExceededException.class, () -> capacityGuard.guard(BeerType.IPA, "Lagunitas", 1, () -> {
+            throw new AssertionError("change must not run");
+        }));
+        assertThat(capacityGuard.guard(BeerType.LAGER, "Brahma", 1_000, () -> "unlimited"), is("unlimited"));
+        assertThat(coldRoom.getUsed().get(), is(100L));
+
+        capacityGuard.remove(BeerType.STOUT, "Guinness", 10, () -> null);
+        capacityGuard.guard(BeerType.IPA, "Lagunitas", 10, () -> null);
+        assertThat(coldRoom.getUsed().get(), is(100L));
+    }
+
+    @Test
+    void whenOneOfSeveralGroupsRejectsOrTheChangeFailsThenNoCounterKeepsTheUnits() throws Exception {
+        CapacityGuard capacityGuard = new CapacityGuard(List.of(coldRoom, premium), beerRepository);
+
+        assertThrows(BeerCapacityExceededException.class, () -> capacityGuard.guard(BeerType.IPA, "Colorado", 31, () -> null));
+        assertThrows(IllegalStateException.class, () -> capacityGuard.guard(BeerType.IPA, "Colorado", 20, () -> {
+            throw new IllegalStateException("save failed");
+        }));
+
+        assertThat(coldRoom.getUsed().get(), is(0L));
+        assertThat(premium.getUsed().get(), is(0L));
+    }
+
+    @Test
+    void whenManyThreadsAddConcurrentlyThenTheLimitIsNeverExceeded() throws Exception {
+        CapacityGuard capacityGuard = new CapacityGuard(List.of(coldRoom), beerRepository);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> accepted = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++)
+            accepted.add(executor.submit(() -> {
+                int count = 0;
+                for (int i = 0; i < 50; i++) {
+                    try {
+                        capacityGuard.guard(BeerType.STOUT, "Guinness", 1, () -> null);
+                        count++;
+                    } catch (BeerCapacityExceededException e) {
+                        // full
+                    }
+                }
+                return count;
+            }));
+        int total = 0;
+        for (Future<Integer> count : accepted)
+            total += count.get();
+        executor.shutdown();
+
+        assertThat(total, is(100));
+        assertThat(coldRoom.getUsed().get(), is(100L));
+    }
+
+    @Test
+    void whenCountersAreReconciledThenTheyMatchTheStoredQuantities() throws Exception {
+        CapacityGuard capacityGuard = new CapacityGuard(List.of(coldRoom, premium), beerRepository);
+        capacityGuard.guard(BeerType.STOUT, "Guinness", 5, () -> null);
+
+        when(beerRepository.sumQuantityByTypeAndBrand()).thenReturn(List.of(
+                new CapacityUsage(BeerType.STOUT, "Guinness", 70L),
+                new CapacityUsage(BeerType.IPA, "Colorado", 25L),
+                new CapacityUsage(BeerType.LAGER, "Colorado", 3L),
+                new CapacityUsage(BeerType.LAGER, "Brahma", 400L)));
+        capacityGuard.reconcile();
+
+        assertThat(coldRoom.getUsed().get(), is(95L));
+        assertThat(premium.getUsed().get(), is(28L));
+        assertThrows(BeerCapacityExceededException.class, () -> capacityGuard.guard(BeerType.WEISS, "Colorado", 3, () -> null));
+    }
+}
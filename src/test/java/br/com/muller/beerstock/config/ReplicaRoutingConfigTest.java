@@ -0,0 +1,49 @@
+package br.com.muller.beerstock.config;
+
+import br.com.muller.beerstock.routing.ReadYourWritesTracker;
+import br.com.muller.beerstock.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ReplicaRoutingConfigTest {
+
+    @Test
+    void whenHikariPropertiesAreSetThenEveryPoolGetsThem() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.pool-name", "beerstock-pool")
+                .withProperty("spring.datasource.hikari.auto-commit", "false")
+                .withProperty("spring.datasource.hikari.connection-timeout", "2000")
+                .withProperty(DataSourcePoolSizing.MAXIMUM_POOL_SIZE_PROPERTY, "7");
+        ReplicaRoutingProperties properties = new ReplicaRoutingProperties();
+        properties.getPrimary().setUrl("jdbc:h2:mem:config-primary");
+        ReplicaRoutingProperties.Connection replica = new ReplicaRoutingProperties.Connection();
+        replica.setUrl("jdbc:h2:mem:config-replica");
+        properties.getReplicas().add(replica);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("dataSourcePoolSizing", new DataSourcePoolSizing(environment));
+
+        DataSource dataSource = new ReplicaRoutingConfig().dataSource(properties, new ReadYourWritesTracker(0),
+                environment, beanFactory.getBeanProvider(DataSourcePoolSizing.class));
+
+        List<DataSource> pools = ((ReplicaRoutingDataSource) ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource()).getTargets();
+        assertThat(pools, hasSize(2));
+        for (DataSource pool : pools) {
+            HikariDataSource hikari = (HikariDataSource) pool;
+            assertThat(hikari.isAutoCommit(), is(false));
+            assertThat(hikari.getConnectionTimeout(), is(2000L));
+            assertThat(hikari.getMaximumPoolSize(), is(7));
+            assertThat(hikari.getMinimumIdle(), is(7));
+            assertThat(hikari.getPoolName(), startsWith("beerstock-pool-"));
+        }
+        assertThat(((HikariDataSource) pools.get(0)).getPoolName(), is(not(((HikariDataSource) pools.get(1)).getPoolName())));
+    }
+}
@@ -3,9 +3,22 @@ package br.com.muller.beerstock.controller;
 import br.com.muller.beerstock.builder.BeerDTOBuilder;
 import br.com.muller.beerstock.builder.QuantityDTOBuilder;
 import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.dto.BulkDeleteRequestDTO;
+import br.com.muller.beerstock.dto.BulkDeleteResultDTO;
+import br.com.muller.beerstock.dto.MovementRequestDTO;
 import br.com.muller.beerstock.dto.QuantityDTO;
+import br.com.muller.beerstock.dto.ReservationDTO;
+import br.com.muller.beerstock.dto.ReservationRequestDTO;
+import br.com.muller.beerstock.dto.StockLevelDTO;
+import br.com.muller.beerstock.dto.StockSnapshotDTO;
+import br.com.muller.beerstock.enums.BeerType;
+import br.com.muller.beerstock.enums.MovementStatus;
+import br.com.muller.beerstock.enums.MovementType;
 import br.com.muller.beerstock.exception.*;
+import br.com.muller.beerstock.movement.MovementQueue;
+import br.com.muller.beerstock.movement.StockMovement;
 import br.com.muller.beerstock.service.BeerService;
+import br.com.muller.beerstock.snapshot.StockSnapshotService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,7 +31,11 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 import static br.com.muller.beerstock.utils.JsonConvertionUtils.asJsonString;
 import static org.hamcrest.Matchers.*;
@@ -41,6 +58,12 @@ public class BeerControllerTest {
     @Mock
     private BeerService beerService;
 
+    @Mock
+    private MovementQueue movementQueue;
+
+    @Mock
+    private StockSnapshotService stockSnapshotService;
+
     private MockMvc mockMvc;
 
     @BeforeEach
@@ -48,6 +71,7 @@ public class BeerControllerTest {
         mockMvc = MockMvcBuilders.standaloneSetup(beerController)
                 .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
                 .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
+                .setControllerAdvice(new StockLimitExceptionHandler())
                 .build();
     }
 
@@ -123,7 +147,7 @@ public class BeerControllerTest {
     void whenDELETEIsCalledWithValidIdThenNoContentIsReturned() throws Exception {
         BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
 
-        doNothing().when(beerService).deleteById(beerDTO.getId());
+        doNothing().when(beerService).deleteById(beerDTO.getId(), false);
 
         mockMvc.perform(delete(BEER_API_URL_PATH + "/" + beerDTO.getId())
                 .contentType(MediaType.APPLICATION_JSON))
@@ -132,7 +156,7 @@ public class BeerControllerTest {
 
     @Test
     void whenDELETEIsCalledWithInvalidIdThenAnErrorIsReturned() throws Exception {
-        doThrow(BeerNotFoundException.class).when(beerService).deleteById(INVALID_BEER_ID);
+        doThrow(BeerNotFoundException.class).when(beerService).deleteById(INVALID_BEER_ID, false);
 
         mockMvc.perform(delete(BEER_API_URL_PATH + "/" + INVALID_BEER_ID)
                 .contentType(MediaType.APPLICATION_JSON))
@@ -220,12 +244,15 @@ public class BeerControllerTest {
         BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
         QuantityDTO quantityDTO = QuantityDTOBuilder.builder().quantity(80).build().toQuantityDTO();
 
-        doThrow(BeerStockLessThenZeroException.class).when(beerService).decrement(beerDTO.getId(),quantityDTO.getQuantity());
+        BeerStockLessThenZeroException exception = new BeerStockLessThenZeroException(beerDTO.getId(), quantityDTO.getQuantity());
+        doThrow(exception).when(beerService).decrement(beerDTO.getId(),quantityDTO.getQuantity());
 
         mockMvc.perform(patch(BEER_API_URL_PATH + "/" + beerDTO.getId() + BEER_API_SUBPATH_DECREMENT_URL)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(asJsonString(quantityDTO)))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)))
+                .andExpect(jsonPath("$.message", is(exception.getMessage())));
     }
 
     @Test
@@ -250,4 +277,121 @@ public class BeerControllerTest {
                 .andExpect(status().isNotFound());
 
     }
+
+    @Test
+    void whenPOSTReservationIsCalledThenTheQuantityShouldBeHeld() throws Exception {
+        ReservationRequestDTO reservationRequest = ReservationRequestDTO.builder().quantity(4).ttlSeconds(60).build();
+        ReservationDTO reservationDTO = new ReservationDTO(UUID.randomUUID(), VALID_BEER_ID, 4, Instant.now().plusSeconds(60), 6);
+
+        when(beerService.reserve(VALID_BEER_ID, 4, Duration.ofSeconds(60))).thenReturn(reservationDTO);
+
+        mockMvc.perform(post(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(reservationRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(reservationDTO.getId().toString())))
+                .andExpect(jsonPath("$.available", is(6)));
+    }
+
+    @Test
+    void whenConfirmIsCalledWithExpiredReservationThenAnErrorIsReturned() throws Exception {
+        UUID reservationId = UUID.randomUUID();
+
+        when(beerService.confirmReservation(VALID_BEER_ID, reservationId)).thenThrow(ReservationNotFoundException.class);
+
+        mockMvc.perform(post(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/reservations/" + reservationId + "/confirm"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void whenDELETEIsCalledWithSoftFlagThenTheBeerIsOnlyFlaggedAsDeleted() throws Exception {
+        doNothing().when(beerService).deleteById(VALID_BEER_ID, true);
+
+        mockMvc.perform(delete(BEER_API_URL_PATH + "/" + VALID_BEER_ID).param("soft", "true"))
+                .andExpect(status().isNoContent());
+
+        verify(beerService).deleteById(VALID_BEER_ID, true);
+    }
+
+    @Test
+    void whenPOSTDeletionsIsCalledWithATypeThenTheDeletedCountIsReturned() throws Exception {
+        BulkDeleteRequestDTO deleteRequest = BulkDeleteRequestDTO.builder().type(BeerType.LAGER).build();
+
+        when(beerService.deleteBeers(deleteRequest)).thenReturn(new BulkDeleteResultDTO(42, false));
+
+        mockMvc.perform(post(BEER_API_URL_PATH + "/deletions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(deleteRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", is(42)));
+    }
+
+    @Test
+    void whenPOSTDeletionsIsCalledWithoutCriteriaThenAnErrorIsReturned() throws Exception {
+        mockMvc.perform(post(BEER_API_URL_PATH + "/deletions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(new BulkDeleteRequestDTO())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenGETSnapshotIsCalledWithAnInstantThenTheQuantitiesAtThatInstantAreReturned() throws Exception {
+        Instant at = Instant.parse("2026-10-16T18:00:00Z");
+        StockSnapshotDTO snapshotDTO = new StockSnapshotDTO(at, at.minusSeconds(1800), List.of(new StockLevelDTO(VALID_BEER_ID, 7)));
+
+        when(stockSnapshotService.quantitiesAt(at)).thenReturn(snapshotDTO);
+
+        mockMvc.perform(get(BEER_API_URL_PATH + "/snapshot").param("at", at.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.beers", hasSize(1)))
+                .andExpect(jsonPath("$.beers[0].id", is((int) VALID_BEER_ID)))
+                .andExpect(jsonPath("$.beers[0].quantity", is(7)));
+    }
+
+    @Test
+    void whenGETSnapshotIsCalledBeforeTheFirstSnapshotThenNotFoundStatusIsReturned() throws Exception {
+        Instant at = Instant.parse("2020-01-01T00:00:00Z");
+
+        when(stockSnapshotService.quantitiesAt(at)).thenThrow(SnapshotNotFoundException.class);
+
+        mockMvc.perform(get(BEER_API_URL_PATH + "/snapshot").param("at", at.toString()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void whenPOSTMovementIsCalledThenATicketIsReturnedBeforeItIsApplied() throws Exception {
+        MovementRequestDTO movementRequest = new MovementRequestDTO(MovementType.DECREMENT, 5);
+        StockMovement movement = new StockMovement(VALID_BEER_ID, MovementType.DECREMENT, 5);
+
+        when(movementQueue.submit(VALID_BEER_ID, MovementType.DECREMENT, 5)).thenReturn(movement);
+
+        mockMvc.perform(post(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/movements")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(movementRequest)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.ticket", is(movement.getTicket().toString())))
+                .andExpect(jsonPath("$.status", is(MovementStatus.PENDING.toString())));
+    }
+
+    @Test
+    void whenPOSTMovementIsCalledWithFullQueueThenAnErrorIsReturned() throws Exception {
+        MovementRequestDTO movementRequest = new MovementRequestDTO(MovementType.INCREMENT, 5);
+
+        when(movementQueue.submit(VALID_BEER_ID, MovementType.INCREMENT, 5)).thenThrow(MovementQueueFullException.class);
+
+        mockMvc.perform(post(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/movements")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(movementRequest)))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void whenGETMovementIsCalledWithTicketOfAnotherBeerThenAnErrorIsReturned() throws Exception {
+        StockMovement movement = new StockMovement(INVALID_BEER_ID, MovementType.INCREMENT, 5);
+
+        when(movementQueue.find(movement.getTicket())).thenReturn(Optional.of(movement));
+
+        mockMvc.perform(get(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/movements/" + movement.getTicket()))
+                .andExpect(status().isNotFound());
+    }
 }
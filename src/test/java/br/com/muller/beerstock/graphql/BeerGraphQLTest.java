@@ -0,0 +1,127 @@
+package br.com.muller.beerstock.graphql;
+
+import br.com.muller.beerstock.builder.BeerDTOBuilder;
+import br.com.muller.beerstock.config.GraphQLConfig;
+import br.com.muller.beerstock.config.GraphQLProperties;
+import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.dto.GraphQLRequestDTO;
+import br.com.muller.beerstock.repository.BeerRepository;
+import br.com.muller.beerstock.service.BeerService;
+import br.com.muller.beerstock.utils.RequestUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BeerGraphQLTest {
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    @Mock
+    private BeerService beerService;
+
+    private BeerDataFetchers dataFetchers;
+
+    private GraphQL graphQL;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        GraphQLProperties properties = new GraphQLProperties();
+        GraphQLConfig config = new GraphQLConfig();
+        dataFetchers = config.beerDataFetchers(beerRepository, beerService, properties);
+        graphQL = config.graphQL(dataFetchers, properties);
+    }
+
+    @Test
+    void whenSeveralBeersAreQueriedByNameThenTheyAreLoadedInOneQueryWithOnlyTheSelectedColumns() {
+        when(beerRepository.findFieldsByNameIn(Set.of("name", "quantity", "brand"), Set.of("Brahma", "Skol")))
+                .thenReturn(List.of(Map.of("name", "Brahma", "quantity", 10, "brand", "Ambev"),
+                        Map.of("name", "Skol", "quantity", 20)));
+
+        ExecutionResult result = execute("{ a: beer(name: \"Brahma\") { name quantity brand } b: beer(name: \"Skol\") { quantity } }");
+
+        assertThat(result.getErrors(), is(empty()));
+        Map<String, Map<String, Object>> data = result.getData();
+        assertThat(data.get("a").get("brand"), is("Ambev"));
+        assertThat(data.get("b").get("quantity"), is(20));
+        verify(beerRepository, times(1)).findFieldsByNameIn(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void whenQueryIsTooComplexThenItIsRejectedBeforeReadingBeers() {
+        ExecutionResult result = execute("{ beers(first: 1000) { id name brand max quantity type } }");
+
+        assertThat(result.getErrors(), hasSize(1));
+        verifyNoInteractions(beerRepository);
+    }
+
+    @Test
+    void whenPageIsTooLargeThenAnErrorIsReturned() {
+        ExecutionResult result = execute("{ beers(first: 5000) { id } }");
+
+        assertThat(result.getErrors(), is(not(empty())));
+        verifyNoInteractions(beerRepository);
+    }
+
+    @Test
+    void whenIncrementMutationIsExecutedThenBeerServiceIsCalled() throws Exception {
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        when(beerService.increment(beerDTO.getId(), 5)).thenReturn(beerDTO);
+
+        ExecutionResult result = execute("mutation { increment(id: " + beerDTO.getId() + ", quantity: 5) { id quantity } }");
+
+        assertThat(result.getErrors(), is(empty()));
+        Map<String, Map<String, Object>> data = result.getData();
+        assertThat(data.get("increment").get("quantity"), is(beerDTO.getQuantity()));
+    }
+
+    @Test
+    void whenGraphQLRequestIsAMutationThenOnlyItCountsAsAWrite() throws Exception {
+        String operations = "query Find { beer(name: \"Brahma\") { id } } mutation Add { increment(id: 1, quantity: 1) { id } }";
+
+        assertThat(isWrite(new GraphQLRequestDTO("mutation { increment(id: 1, quantity: 1) { id } }", null, null)), is(true));
+        assertThat(isWrite(new GraphQLRequestDTO("{ beer(name: \"Brahma\") { id } }", null, null)), is(false));
+        assertThat(isWrite(new GraphQLRequestDTO(operations, "Add", null)), is(true));
+        assertThat(isWrite(new GraphQLRequestDTO(operations, "Find", null)), is(false));
+        assertThat(isWrite(new GraphQLRequestDTO("mutation {", null, null)), is(false));
+    }
+
+    private boolean isWrite(GraphQLRequestDTO graphQLRequest) throws Exception {
+        byte[] body = new ObjectMapper().writeValueAsBytes(graphQLRequest);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/graphql");
+        request.setContent(body);
+        MockFilterChain chain = new MockFilterChain();
+
+        new GraphQLOperationFilter(new ObjectMapper()).doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(StreamUtils.copyToByteArray(chain.getRequest().getInputStream()), is(body));
+        return RequestUtils.isWrite(request);
+    }
+
+    private ExecutionResult execute(String query) {
+        return graphQL.execute(ExecutionInput.newExecutionInput()
+                .query(query)
+                .dataLoaderRegistry(dataFetchers.newDataLoaderRegistry())
+                .build());
+    }
+}
@@ -0,0 +1,134 @@
+package br.com.muller.beerstock.grpc;
+
+import br.com.muller.beerstock.builder.BeerDTOBuilder;
+import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.grpc.proto.Beer;
+import br.com.muller.beerstock.grpc.proto.BeerStockGrpc;
+import br.com.muller.beerstock.grpc.proto.FindByNameRequest;
+import br.com.muller.beerstock.grpc.proto.MovementRequest;
+import br.com.muller.beerstock.grpc.proto.MovementResult;
+import br.com.muller.beerstock.grpc.proto.QuantityRequest;
+import br.com.muller.beerstock.grpc.proto.StockUpdate;
+import br.com.muller.beerstock.grpc.proto.WatchStockRequest;
+import br.com.muller.beerstock.service.BeerService;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {"beerstock.grpc.enabled=true", "beerstock.grpc.port=0"})
+public class BeerStockGrpcServiceTest {
+
+    @Autowired
+    private GrpcServer grpcServer;
+
+    @Autowired
+    private BeerService beerService;
+
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        channel = ManagedChannelBuilder.forAddress("localhost", grpcServer.getPort()).usePlaintext().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+    }
+
+    @Test
+    void whenBeerIsLookedUpAndIncrementedThenItIsAnsweredLikeTheRestApi() throws Exception {
+        BeerDTO beerDTO = beerService.createBeer(BeerDTOBuilder.builder().id(null).name("Grpc Lager").build().toBeerDTO());
+        BeerStockGrpc.BeerStockBlockingStub stub = BeerStockGrpc.newBlockingStub(channel);
+
+        Beer found = stub.findByName(FindByNameRequest.newBuilder().setName("Grpc Lager").build());
+        Beer incremented = stub.increment(QuantityRequest.newBuilder().setId(beerDTO.getId()).setQuantity(5).build());
+
+        assertThat(found.getId(), is(beerDTO.getId()));
+        assertThat(found.getType().name(), is(beerDTO.getType().name()));
+        assertThat(incremented.getQuantity(), is(beerDTO.getQuantity() + 5));
+        StatusRuntimeException notFound = assertThrows(StatusRuntimeException.class,
+                () -> stub.findByName(FindByNameRequest.newBuilder().setName("Missing").build()));
+        assertThat(notFound.getStatus().getCode(), is(Status.Code.NOT_FOUND));
+        StatusRuntimeException exceeded = assertThrows(StatusRuntimeException.class,
+                () -> stub.increment(QuantityRequest.newBuilder().setId(beerDTO.getId()).setQuantity(beerDTO.getMax()).build()));
+        assertThat(exceeded.getStatus().getCode(), is(Status.Code.INVALID_ARGUMENT));
+    }
+
+    @Test
+    void whenMovementsAreStreamedThenEveryOneGetsItsResult() throws Exception {
+        BeerDTO beerDTO = beerService.createBeer(BeerDTOBuilder.builder().id(null).name("Grpc Stout").build().toBeerDTO());
+        List<MovementResult> results = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+
+        StreamObserver<MovementRequest> requests = BeerStockGrpc.newStub(channel).applyMovements(new StreamObserver<>() {
+            @Override
+            public void onNext(MovementResult result) {
+                results.add(result);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                completed.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onCompleted() {
+                completed.complete(null);
+            }
+        });
+        for (int i = 0; i < 10; i++)
+            requests.onNext(movement(i, beerDTO.getId(), MovementRequest.Type.INCREMENT, 1));
+        requests.onNext(movement(10, beerDTO.getId(), MovementRequest.Type.DECREMENT, 1_000));
+        requests.onCompleted();
+        completed.get(10, TimeUnit.SECONDS);
+
+        assertThat(results, hasSize(11));
+        assertThat(results.stream().filter(MovementResult::getApplied).count(), is(10L));
+        MovementResult rejected = results.stream().filter(result -> !result.getApplied()).findFirst().get();
+        assertThat(rejected.getCorrelationId(), is(10L));
+        assertThat(beerService.findByName("Grpc Stout").getQuantity(), is(beerDTO.getQuantity() + 10));
+    }
+
+    @Test
+    void whenWatchedBeerChangesThenItsStockIsPushed() throws Exception {
+        BeerDTO watched = beerService.createBeer(BeerDTOBuilder.builder().id(null).name("Grpc Weiss").build().toBeerDTO());
+        BeerDTO other = beerService.createBeer(BeerDTOBuilder.builder().id(null).name("Grpc Ale").build().toBeerDTO());
+        Iterator<StockUpdate> updates = BeerStockGrpc.newBlockingStub(channel).withDeadlineAfter(10, TimeUnit.SECONDS)
+                .watchStock(WatchStockRequest.newBuilder().addBeerIds(watched.getId()).build());
+        Thread.sleep(200);
+
+        beerService.increment(other.getId(), 1);
+        beerService.increment(watched.getId(), 2);
+
+        StockUpdate update = updates.next();
+        assertThat(update.getBeerId(), is(watched.getId()));
+        assertThat(update.getQuantity(), is(watched.getQuantity() + 2));
+    }
+
+    private static MovementRequest movement(long correlationId, Long beerId, MovementRequest.Type type, int quantity) {
+        return MovementRequest.newBuilder()
+                .setCorrelationId(correlationId)
+                .setBeerId(beerId)
+                .setType(type)
+                .setQuantity(quantity)
+                .build();
+    }
+}
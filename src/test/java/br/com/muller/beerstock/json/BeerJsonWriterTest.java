@@ -0,0 +1,64 @@
+package br.com.muller.beerstock.json;
+
+import br.com.muller.beerstock.builder.BeerDTOBuilder;
+import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.dto.QuantityDTO;
+import br.com.muller.beerstock.entity.Beer;
+import br.com.muller.beerstock.enums.BeerType;
+import br.com.muller.beerstock.mapper.BeerMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class BeerJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BeerJsonWriter beerJsonWriter = new BeerJsonWriter(objectMapper.getFactory());
+
+    @Test
+    void whenBeerIsWrittenThenItShouldMatchJacksonOutput() throws IOException {
+        BeerDTO beerDTO = BeerDTOBuilder.builder().name("Brahma \"Duplo\" Malte ç").type(BeerType.IPA).build().toBeerDTO();
+        Beer beer = BeerMapper.INSTANCE.toModel(beerDTO);
+
+        assertThat(written(beerDTO), is(objectMapper.writeValueAsString(beerDTO)));
+        assertThat(written(beer), is(objectMapper.writeValueAsString(beerDTO)));
+    }
+
+    @Test
+    void whenBeersWithMissingFieldsAreWrittenThenNullsShouldMatchJacksonOutput() throws IOException {
+        BeerDTO beerDTO = BeerDTOBuilder.builder().id(null).type(null).build().toBeerDTO();
+        List<BeerDTO> beers = Arrays.asList(beerDTO, BeerDTOBuilder.builder().build().toBeerDTO());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        beerJsonWriter.writeAll(beers, output);
+
+        assertThat(output.toString(StandardCharsets.UTF_8), is(objectMapper.writeValueAsString(beers)));
+    }
+
+    @Test
+    void whenBodyIsNotABeerThenConverterShouldLeaveItToJackson() {
+        BeerJsonHttpMessageConverter converter = new BeerJsonHttpMessageConverter(beerJsonWriter);
+
+        assertThat(converter.canWrite(ResolvableType.forClassWithGenerics(List.class, BeerDTO.class).getType(), List.class, MediaType.APPLICATION_JSON), is(true));
+        assertThat(converter.canWrite(BeerDTO.class, BeerDTO.class, MediaType.APPLICATION_JSON), is(true));
+        assertThat(converter.canWrite(ResolvableType.forClassWithGenerics(List.class, String.class).getType(), List.class, MediaType.APPLICATION_JSON), is(false));
+        assertThat(converter.canWrite(QuantityDTO.class, QuantityDTO.class, MediaType.APPLICATION_JSON), is(false));
+        assertThat(converter.canRead(BeerDTO.class, BeerDTO.class, MediaType.APPLICATION_JSON), is(false));
+    }
+
+    private String written(Object beer) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        beerJsonWriter.write(beer, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.muller.beerstock.loadtest;
+
+import br.com.muller.beerstock.BeerstockApplication;
+import br.com.muller.beerstock.builder.BeerDTOBuilder;
+import br.com.muller.beerstock.dto.BeerDTO;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Replays point-of-sale traffic against the API on an embedded server and fails when an SLO regresses:
+ * mvn test -Ploadtest
+ * mvn test -Ploadtest -Dloadtest.rate=1000 -Dloadtest.mix=lookup=80,increment=10,decrement=10 -Dloadtest.skew=1.2
+ */
+@Tag("loadtest")
+public class ApiLoadTest {
+
+    private final double rate = Double.parseDouble(System.getProperty("loadtest.rate", "100"));
+    private final Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 20));
+    private final Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 15));
+    private final int beers = Integer.getInteger("loadtest.beers", 500);
+    private final double skew = Double.parseDouble(System.getProperty("loadtest.skew", "1.0"));
+    private final String mix = System.getProperty("loadtest.mix", "lookup=50,list=2,increment=20,decrement=25,create=3");
+    private final String profiles = System.getProperty("loadtest.profiles", "default");
+
+    private final double sloP99Millis = Double.parseDouble(System.getProperty("loadtest.slo.p99-millis", "250"));
+    private final double sloErrorRate = Double.parseDouble(System.getProperty("loadtest.slo.error-rate", "0.001"));
+    private final double sloThroughputRatio = Double.parseDouble(System.getProperty("loadtest.slo.throughput-ratio", "0.95"));
+
+    @Test
+    void posTraffic() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BeerstockApplication.class)
+                .profiles(profiles.split(","))
+                .run("--server.port=0", "--beerstock.rate-limit.enabled=false")) {
+            String beerApiUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api/v1/beers";
+            List<Long> ids = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            seed(beerApiUrl, ids, names);
+
+            OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(beerApiUrl, ids, names, OpenLoopLoadGenerator.parseMix(mix), skew);
+            generator.run(rate, warmup).print("warmup");
+            LoadReport report = generator.run(rate, duration);
+            System.out.printf("[loadtest] profiles=%s rate=%.0f/s mix=%s skew=%.2f beers=%d%n", profiles, rate, mix, skew, beers);
+            report.print("measured");
+
+            assertThat("p99 corrected for coordinated omission (ms)", report.correctedPercentileMillis(99), is(lessThanOrEqualTo(sloP99Millis)));
+            assertThat("error rate, stock-limit rejections excluded", report.errorRate(), is(lessThanOrEqualTo(sloErrorRate)));
+            assertThat("throughput (req/s)", report.throughput(), is(greaterThanOrEqualTo(report.offeredRate() * sloThroughputRatio)));
+        }
+    }
+
+    private void seed(String beerApiUrl, List<Long> ids, List<String> names) {
+        RestTemplate restTemplate = new RestTemplate();
+        for (int i = 0; i < beers; i++) {
+            BeerDTO beer = BeerDTOBuilder.builder().id(null).name("Sku " + i).max(100).quantity(50).build().toBeerDTO();
+            BeerDTO created = restTemplate.postForObject(beerApiUrl, beer, BeerDTO.class);
+            ids.add(created.getId());
+            names.add(created.getName());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.muller.beerstock.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outcomes of a load run. Response times are recorded twice: from the moment the request was scheduled
+ * to start (corrected for coordinated omission, what a client arriving on schedule experiences) and
+ * from the moment it was actually sent (service time).
+ */
+public class LoadReport {
+
+    private final long[] correctedNanos;
+    private final long[] serviceNanos;
+    private final AtomicInteger sent = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger succeeded = new AtomicInteger();
+    private final AtomicInteger stockLimitRejections = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+    private volatile long scheduleNanos;
+    private volatile long elapsedNanos;
+
+    public LoadReport(int capacity) {
+        correctedNanos = new long[capacity];
+        serviceNanos = new long[capacity];
+    }
+
+    public void sent() {
+        sent.incrementAndGet();
+    }
+
+    public void success(long corrected, long service) {
+        succeeded.incrementAndGet();
+        record(corrected, service);
+    }
+
+    public void stockLimitRejection(long corrected, long service) {
+        stockLimitRejections.incrementAndGet();
+        record(corrected, service);
+    }
+
+    public void error(long corrected, long service) {
+        errors.incrementAndGet();
+        record(corrected, service);
+    }
+
+    public void finish(long scheduleNanos, long elapsedNanos) {
+        this.scheduleNanos = scheduleNanos;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getCompleted() {
+        return Math.min(completed.get(), correctedNanos.length);
+    }
+
+    /**
+     * Arrival rate the schedule actually produced; Poisson arrivals scatter around the requested rate.
+     */
+    public double offeredRate() {
+        return sent.get() / (scheduleNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public double throughput() {
+        return getCompleted() / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public double errorRate() {
+        return getCompleted() == 0 ? 0 : errors.get() / (double) getCompleted();
+    }
+
+    public double stockLimitRate() {
+        return getCompleted() == 0 ? 0 : stockLimitRejections.get() / (double) getCompleted();
+    }
+
+    public double correctedPercentileMillis(double percentile) {
+        return percentileMillis(correctedNanos, percentile);
+    }
+
+    public double servicePercentileMillis(double percentile) {
+        return percentileMillis(serviceNanos, percentile);
+    }
+
+    public void print(String name) {
+        System.out.printf("[loadtest] %s: %d requests in %.1f s, offered %.1f req/s, served %.1f req/s, %.2f%% errors, %.2f%% stock-limit rejections, %d ok%n",
+                name, getCompleted(), elapsedNanos / 1e9, offeredRate(), throughput(), errorRate() * 100, stockLimitRate() * 100, succeeded.get());
+        for (double percentile : new double[]{50, 90, 99, 99.9, 100})
+            System.out.printf("[loadtest]   p%-5s corrected %9.2f ms   service %9.2f ms%n",
+                    percentile == 100 ? "max" : String.valueOf(percentile), correctedPercentileMillis(percentile), servicePercentileMillis(percentile));
+    }
+
+    private void record(long corrected, long service) {
+        int index = completed.getAndIncrement();
+        if (index < correctedNanos.length) {
+            correctedNanos[index] = corrected;
+            serviceNanos[index] = service;
+        }
+    }
+
+    private double percentileMillis(long[] values, double percentile) {
+        int count = getCompleted();
+        if (count == 0)
+            return 0;
+        long[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))] / 1e6;
+    }
+}
@@ -0,0 +1,155 @@
+package br.com.muller.beerstock.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests on a Poisson arrival schedule whatever the responses do (open loop): a slow server
+ * makes requests overlap instead of delaying the next arrival, like independent point-of-sale terminals.
+ */
+public class OpenLoopLoadGenerator {
+
+    public enum Operation {
+        CREATE,
+        LOOKUP,
+        LIST,
+        INCREMENT,
+        DECREMENT
+    }
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(REQUEST_TIMEOUT)
+            .build();
+    private final String beerApiUrl;
+    private final List<Long> ids;
+    private final List<String> names;
+    private final Map<Operation, Integer> mix;
+    private final ZipfDistribution hotSkus;
+    private final Random random = new Random(42);
+    private final AtomicInteger created = new AtomicInteger();
+
+    public OpenLoopLoadGenerator(String beerApiUrl, List<Long> ids, List<String> names, Map<Operation, Integer> mix, double skew) {
+        this.beerApiUrl = beerApiUrl;
+        this.ids = ids;
+        this.names = names;
+        this.mix = mix;
+        this.hotSkus = new ZipfDistribution(ids.size(), skew);
+    }
+
+    /**
+     * Parses a mix such as "lookup=50,list=5,increment=20,decrement=20,create=5".
+     */
+    public static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] weight = entry.trim().split("=");
+            weights.put(Operation.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+        return weights;
+    }
+
+    public LoadReport run(double requestsPerSecond, Duration duration) {
+        int expected = (int) (requestsPerSecond * duration.getSeconds() * 1.5) + 1_000;
+        LoadReport report = new LoadReport(expected);
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>(expected);
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long intended = start;
+        while (intended < end) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0)
+                LockSupport.parkNanos(wait);
+            report.sent();
+            inFlight.add(send(nextRequest(), intended, report));
+            intended += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+        }
+        long scheduled = System.nanoTime() - start;
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).join();
+        report.finish(scheduled, System.nanoTime() - start);
+        return report;
+    }
+
+    private CompletableFuture<Void> send(Request request, long intendedStart, LoadReport report) {
+        long sent = System.nanoTime();
+        return httpClient.sendAsync(request.httpRequest, HttpResponse.BodyHandlers.discarding())
+                .handle((response, failure) -> {
+                    long done = System.nanoTime();
+                    if (failure == null && response.statusCode() < 300)
+                        report.success(done - intendedStart, done - sent);
+                    else if (failure == null && response.statusCode() == 400 && request.isStockMovement())
+                        report.stockLimitRejection(done - intendedStart, done - sent);
+                    else
+                        report.error(done - intendedStart, done - sent);
+                    return null;
+                });
+    }
+
+    private Request nextRequest() {
+        Operation operation = nextOperation();
+        int beer = hotSkus.sample(random);
+        switch (operation) {
+            case CREATE:
+                String name = "Load " + System.nanoTime() + "-" + created.incrementAndGet();
+                return new Request(operation, json(beerApiUrl, "POST",
+                        "{\"name\":\"" + name + "\",\"brand\":\"Load\",\"max\":500,\"quantity\":0,\"type\":\"LAGER\"}"));
+            case LOOKUP:
+                return new Request(operation, HttpRequest.newBuilder(URI.create(beerApiUrl + "/" + names.get(beer).replace(" ", "%20")))
+                        .timeout(REQUEST_TIMEOUT).GET().build());
+            case LIST:
+                return new Request(operation, HttpRequest.newBuilder(URI.create(beerApiUrl)).timeout(REQUEST_TIMEOUT).GET().build());
+            default:
+                String path = operation == Operation.INCREMENT ? "/increment" : "/decrement";
+                return new Request(operation, json(beerApiUrl + "/" + ids.get(beer) + path, "PATCH",
+                        "{\"quantity\":" + (1 + random.nextInt(10)) + "}"));
+        }
+    }
+
+    private Operation nextOperation() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int pick = random.nextInt(total);
+        for (Map.Entry<Operation, Integer> weight : mix.entrySet()) {
+            pick -= weight.getValue();
+            if (pick < 0)
+                return weight.getKey();
+        }
+        throw new IllegalStateException("Empty traffic mix");
+    }
+
+    private HttpRequest json(String url, String method, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static class Request {
+        private final Operation operation;
+        private final HttpRequest httpRequest;
+
+        private Request(Operation operation, HttpRequest httpRequest) {
+            this.operation = operation;
+            this.httpRequest = httpRequest;
+        }
+
+        private boolean isStockMovement() {
+            return operation == Operation.INCREMENT || operation == Operation.DECREMENT;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.muller.beerstock.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Picks item i (0 based) with probability proportional to 1 / (i + 1)^exponent, so a few hot SKUs get
+ * most of the traffic; exponent 0 is uniform.
+ */
+public class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    public ZipfDistribution(int items, double exponent) {
+        cumulative = new double[items];
+        double sum = 0;
+        for (int i = 0; i < items; i++) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < items; i++)
+            cumulative[i] /= sum;
+    }
+
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.muller.beerstock.movement;
+
+import br.com.muller.beerstock.enums.MovementStatus;
+import br.com.muller.beerstock.enums.MovementType;
+import br.com.muller.beerstock.exception.MovementQueueFullException;
+import br.com.muller.beerstock.reservation.HashedTimerWheel;
+import br.com.muller.beerstock.service.BeerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+public class MovementQueueTest {
+
+    @Mock
+    private BeerService beerService;
+
+    private MovementQueue movementQueue;
+
+    @AfterEach
+    void tearDown() {
+        movementQueue.stop();
+    }
+
+    @Test
+    void whenMovementsAreSubmittedThenEachBeerSeesThemInSubmissionOrder() throws Exception {
+        List<StockMovement> applied = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            List<StockMovement> movements = invocation.getArgument(1);
+            applied.addAll(movements);
+            movements.forEach(movement -> movement.applied(null));
+            return null;
+        }).when(beerService).applyMovements(any(), anyList());
+        movementQueue = new MovementQueue(beerService, new HashedTimerWheel(10, TimeUnit.MILLISECONDS, 64), 4, 1_000, 16, 60, 5);
+        movementQueue.start();
+
+        List<StockMovement> submitted = new ArrayList<>();
+        for (int i = 0; i < 500; i++)
+            submitted.add(movementQueue.submit((long) i % 7, MovementType.INCREMENT, i));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (applied.size() < submitted.size() && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        assertThat(applied, hasSize(submitted.size()));
+        for (long beerId = 0; beerId < 7; beerId++)
+            assertThat(quantitiesOf(applied, beerId), is(quantitiesOf(submitted, beerId)));
+        assertThat(movementQueue.find(submitted.get(0).getTicket()).isPresent(), is(true));
+    }
+
+    @Test
+    void whenPartitionIsFullThenSubmissionShouldBeRefused() throws Exception {
+        movementQueue = new MovementQueue(beerService, new HashedTimerWheel(10, TimeUnit.MILLISECONDS, 64), 1, 2, 16, 60, 5);
+
+        StockMovement accepted = movementQueue.submit(1L, MovementType.DECREMENT, 1);
+        movementQueue.submit(1L, MovementType.DECREMENT, 1);
+
+        assertThrows(MovementQueueFullException.class, () -> movementQueue.submit(1L, MovementType.DECREMENT, 1));
+        assertThat(movementQueue.depth(), is(2));
+        assertThat(movementQueue.find(accepted.getTicket()).isPresent(), is(true));
+    }
+
+    @Test
+    void whenQueueStopsThenQueuedMovementsAreAppliedBeforeWorkersExit() throws Exception {
+        doAnswer(invocation -> {
+            Thread.sleep(20);
+            List<StockMovement> movements = invocation.getArgument(1);
+            movements.forEach(movement -> movement.applied(null));
+            return null;
+        }).when(beerService).applyMovements(any(), anyList());
+        movementQueue = new MovementQueue(beerService, new HashedTimerWheel(10, TimeUnit.MILLISECONDS, 64), 2, 1_000, 1, 60, 5);
+        movementQueue.start();
+
+        List<StockMovement> submitted = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+            submitted.add(movementQueue.submit((long) i, MovementType.INCREMENT, 1));
+        movementQueue.stop();
+
+        assertThat(movementQueue.depth(), is(0));
+        submitted.forEach(movement -> assertThat(movement.getStatus(), is(MovementStatus.APPLIED)));
+        assertThrows(MovementQueueFullException.class, () -> movementQueue.submit(1L, MovementType.INCREMENT, 1));
+    }
+
+    @Test
+    void whenQueueStopsBeforeMovementsAreAppliedThenTheyAreRejected() throws Exception {
+        movementQueue = new MovementQueue(beerService, new HashedTimerWheel(10, TimeUnit.MILLISECONDS, 64), 1, 2, 16, 60, 5);
+        StockMovement movement = movementQueue.submit(1L, MovementType.DECREMENT, 1);
+
+        movementQueue.stop();
+
+        assertThat(movement.getCompletion().isDone(), is(true));
+        assertThat(movement.getStatus(), is(MovementStatus.REJECTED));
+    }
+
+    private List<Integer> quantitiesOf(List<StockMovement> movements, long beerId) {
+        List<Integer> quantities = new ArrayList<>();
+        for (StockMovement movement : new ArrayList<>(movements))
+            if (movement.getBeerId() == beerId)
+                quantities.add(movement.getQuantity());
+        return quantities;
+    }
+}
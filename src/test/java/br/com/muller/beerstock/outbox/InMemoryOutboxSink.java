@@ -0,0 +1,33 @@
+package br.com.muller.beerstock.outbox;
+
+import br.com.muller.beerstock.entity.OutboxEvent;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxEvent> received = new ArrayList<>();
+    private boolean failing;
+
+    @Override
+    public String name() {
+        return "in-memory";
+    }
+
+    @Override
+    public synchronized void deliver(List<OutboxEvent> events) throws IOException {
+        if (failing)
+            throw new IOException("Sink unavailable");
+        received.addAll(events);
+    }
+
+    public synchronized List<OutboxEvent> getReceived() {
+        return new ArrayList<>(received);
+    }
+
+    public synchronized void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+}
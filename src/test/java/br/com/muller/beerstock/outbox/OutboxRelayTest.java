@@ -0,0 +1,134 @@
+package br.com.muller.beerstock.outbox;
+
+import br.com.muller.beerstock.builder.BeerDTOBuilder;
+import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.entity.OutboxEvent;
+import br.com.muller.beerstock.event.BeerChangedEvent.ChangeType;
+import br.com.muller.beerstock.repository.OutboxEventRepository;
+import br.com.muller.beerstock.repository.OutboxOffsetRepository;
+import br.com.muller.beerstock.service.BeerService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(properties = {"beerstock.outbox.enabled=true",
+        "beerstock.outbox.batch-size=2", "beerstock.outbox.relay-interval-millis=3600000",
+        "beerstock.outbox.prune-interval-millis=3600000"})
+public class OutboxRelayTest {
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryOutboxSink sink;
+
+    @Autowired
+    private OutboxEventRepository eventRepository;
+
+    @Autowired
+    private OutboxOffsetRepository offsetRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TestConfiguration
+    static class SinkConfig {
+        @Bean
+        InMemoryOutboxSink inMemoryOutboxSink() {
+            return new InMemoryOutboxSink();
+        }
+    }
+
+    @Test
+    void whenBeerChangesThenTheyAreRelayedInOrderAndPrunedOnceDelivered() throws Exception {
+        BeerDTO beer = beerService.createBeer(BeerDTOBuilder.builder().id(null).name("Outbox Lager").build().toBeerDTO());
+        beerService.increment(beer.getId(), 5);
+        beerService.decrement(beer.getId(), 2);
+        beerService.deleteById(beer.getId(), true);
+
+        outboxRelay.relay();
+
+        List<OutboxEvent> events = eventsOf(beer);
+        assertThat(events.stream().map(OutboxEvent::getType).collect(Collectors.toList()),
+                contains(ChangeType.CREATED, ChangeType.UPDATED, ChangeType.UPDATED, ChangeType.DELETED));
+        assertThat(events.stream().map(OutboxEvent::getVersion).collect(Collectors.toList()), contains(0L, 1L, 2L, 3L));
+        assertThat(events.get(2).getPayload(), containsString("\"quantity\":" + (beer.getQuantity() + 3)));
+        long lastDelivered = sink.getReceived().get(sink.getReceived().size() - 1).getId();
+        assertThat(offsetRepository.findById(sink.name()).get().getLastEventId(), is(lastDelivered));
+
+        assertThat(outboxRelay.prune(), is(greaterThanOrEqualTo(4)));
+        assertThat(eventRepository.count(), is(0L));
+        assertThat(outboxRelay.relay(), is(0));
+    }
+
+    @Test
+    void whenSinkFailsThenTheOffsetStaysAndEventsAreDeliveredAgain() throws Exception {
+        BeerDTO beer = beerService.createBeer(BeerDTOBuilder.builder().id(null).name("Outbox Stout").build().toBeerDTO());
+        sink.setFailing(true);
+
+        assertThat(outboxRelay.relay(), is(0));
+        assertThat(outboxRelay.prune(), is(0));
+
+        sink.setFailing(false);
+        assertThat(outboxRelay.relay(), is(greaterThanOrEqualTo(1)));
+        assertThat(eventsOf(beer), hasSize(1));
+    }
+
+    @Test
+    void whenAnEarlierIdIsStillMissingThenLaterEventsWaitUntilTheGapTimesOut() {
+        Instant now = Instant.now();
+        List<OutboxEvent> events = List.of(event(11L, now), event(12L, now), event(14L, now), event(15L, now));
+
+        assertThat(ids(OutboxRelay.upToOpenGap(events, 10L, now.minusSeconds(60))), contains(11L, 12L));
+        assertThat(ids(OutboxRelay.upToOpenGap(events, 9L, now.minusSeconds(60))), is(empty()));
+        assertThat(ids(OutboxRelay.upToOpenGap(events, 10L, now.plusSeconds(1))), contains(11L, 12L, 14L, 15L));
+    }
+
+    @Test
+    void whenEventsAreDeliveredToFileSinkThenOneJsonLineIsAppendedPerEvent(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("changes.ndjson");
+        NdjsonFileSink fileSink = new NdjsonFileSink("file", file, objectMapper);
+        OutboxEvent event = new OutboxEvent(7L, ChangeType.UPDATED, 1L, 3, "{\"id\":1,\"quantity\":12}", Instant.EPOCH);
+
+        fileSink.deliver(List.of(event));
+        fileSink.deliver(List.of(event));
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines, hasSize(2));
+        JsonNode line = objectMapper.readTree(lines.get(0));
+        assertThat(line.get("id").asLong(), is(7L));
+        assertThat(line.get("type").asText(), is("UPDATED"));
+        assertThat(line.get("beer").get("quantity").asInt(), is(12));
+    }
+
+    private OutboxEvent event(long id, Instant createdAt) {
+        return new OutboxEvent(id, ChangeType.UPDATED, 1L, 1, "{}", createdAt);
+    }
+
+    private List<Long> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).collect(Collectors.toList());
+    }
+
+    private List<OutboxEvent> eventsOf(BeerDTO beer) {
+        return sink.getReceived().stream()
+                .filter(event -> event.getBeerId().equals(beer.getId()))
+                .collect(Collectors.toList());
+    }
+}
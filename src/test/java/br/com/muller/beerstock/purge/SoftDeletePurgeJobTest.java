@@ -0,0 +1,62 @@
+package br.com.muller.beerstock.purge;
+
+import br.com.muller.beerstock.builder.BeerDTOBuilder;
+import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.dto.BulkDeleteRequestDTO;
+import br.com.muller.beerstock.exception.BeerNotFoundException;
+import br.com.muller.beerstock.repository.BeerRepository;
+import br.com.muller.beerstock.service.BeerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "beerstock.purge.chunk-size=2")
+public class SoftDeletePurgeJobTest {
+    private static final String BRAND = "Retired Distributor";
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private SoftDeletePurgeJob softDeletePurgeJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void whenBeersAreSoftDeletedThenTheyAreHiddenUntilPurgedInChunks() throws Exception {
+        List<BeerDTO> retired = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+            retired.add(beerService.createBeer(BeerDTOBuilder.builder().id(null).name("Retired " + i).brand(BRAND).build().toBeerDTO()));
+
+        int deleted = beerService.deleteBeers(BulkDeleteRequestDTO.builder().brand(BRAND).soft(true).build()).getDeleted();
+
+        assertThat(deleted, is(5));
+        assertThat(rowsOfBrand(), is(5));
+        assertThat(beerRepository.findById(retired.get(0).getId()).isPresent(), is(false));
+        assertThat(beerService.listAll().stream().filter(beer -> BRAND.equals(beer.getBrand())).count(), is(0L));
+        assertThrows(BeerNotFoundException.class, () -> beerService.findByName("Retired 0"));
+
+        BeerDTO recreated = beerService.createBeer(BeerDTOBuilder.builder().id(null).name("Retired 0").brand(BRAND).build().toBeerDTO());
+        assertThat(recreated.getId(), is(not(retired.get(0).getId())));
+
+        assertThat(softDeletePurgeJob.purge(), is(greaterThanOrEqualTo(4)));
+        assertThat(rowsOfBrand(), is(1));
+        assertThat(beerService.findByName("Retired 0").getId(), is(recreated.getId()));
+    }
+
+    private Integer rowsOfBrand() {
+        return jdbcTemplate.queryForObject("select count(*) from beer where brand = ?", Integer.class, BRAND);
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.muller.beerstock.ratelimit;
+
+import br.com.muller.beerstock.config.RateLimitProperties;
+import br.com.muller.beerstock.utils.RequestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class RateLimitInterceptorTest {
+    private static final String BEER_API_URL_PATH = "/api/v1/beers";
+    private static final String CLIENT_ADDRESS = "10.0.0.1";
+    private static final String OTHER_CLIENT_ADDRESS = "10.0.0.2";
+    private static final String PROXY_ADDRESS = "10.0.0.254";
+
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setRead(new RateLimitProperties.Budget(1, 2, 100, 100));
+        properties.setWrite(new RateLimitProperties.Budget(1, 1, 100, 100));
+    }
+
+    @Test
+    void whenClientExceedsWriteBudgetThen429WithRetryAfterIsReturned() throws Exception {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties);
+
+        assertThat(interceptor.preHandle(request("PATCH", CLIENT_ADDRESS), new MockHttpServletResponse(), null), is(true));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request("PATCH", CLIENT_ADDRESS), response, null), is(false));
+        assertThat(response.getStatus(), is(HttpStatus.TOO_MANY_REQUESTS.value()));
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER), is(notNullValue()));
+    }
+
+    @Test
+    void whenWriteBudgetIsExhaustedThenReadsAndOtherClientsAreStillAccepted() throws Exception {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties);
+
+        interceptor.preHandle(request("PATCH", CLIENT_ADDRESS), new MockHttpServletResponse(), null);
+        interceptor.preHandle(request("PATCH", CLIENT_ADDRESS), new MockHttpServletResponse(), null);
+
+        assertThat(interceptor.preHandle(request("GET", CLIENT_ADDRESS), new MockHttpServletResponse(), null), is(true));
+        assertThat(interceptor.preHandle(request("PATCH", OTHER_CLIENT_ADDRESS), new MockHttpServletResponse(), null), is(true));
+    }
+
+    @Test
+    void whenClientSendsItsOwnIdOrForwardedForThenItIsStillLimitedByAddress() throws Exception {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties);
+
+        interceptor.preHandle(request("PATCH", CLIENT_ADDRESS), new MockHttpServletResponse(), null);
+
+        MockHttpServletRequest spoofed = request("PATCH", CLIENT_ADDRESS);
+        spoofed.addHeader(RequestUtils.CLIENT_ID_HEADER, "someone-else");
+        spoofed.addHeader("X-Forwarded-For", OTHER_CLIENT_ADDRESS);
+        assertThat(interceptor.preHandle(spoofed, new MockHttpServletResponse(), null), is(false));
+    }
+
+    @Test
+    void whenRequestComesFromTrustedProxyThenForwardedClientAddressIsLimited() throws Exception {
+        properties.setTrustedProxies(Set.of(PROXY_ADDRESS));
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties);
+
+        assertThat(interceptor.preHandle(proxied(CLIENT_ADDRESS), new MockHttpServletResponse(), null), is(true));
+        assertThat(interceptor.preHandle(proxied(OTHER_CLIENT_ADDRESS), new MockHttpServletResponse(), null), is(true));
+        assertThat(interceptor.preHandle(proxied(CLIENT_ADDRESS), new MockHttpServletResponse(), null), is(false));
+    }
+
+    @Test
+    void whenClusterNodeForwardsCallsThenEachClientIsChargedSeparately() throws Exception {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties, PROXY_ADDRESS::equals);
+
+        assertThat(interceptor.preHandle(proxied(CLIENT_ADDRESS), new MockHttpServletResponse(), null), is(true));
+        assertThat(interceptor.preHandle(proxied(OTHER_CLIENT_ADDRESS), new MockHttpServletResponse(), null), is(true));
+        assertThat(interceptor.preHandle(proxied(CLIENT_ADDRESS), new MockHttpServletResponse(), null), is(false));
+    }
+
+    @Test
+    void whenWritesAreSlowerThanTargetThenConcurrencyLimitShrinks() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 2, 200, 50);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(), is(true));
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(500));
+        }
+
+        assertThat(limiter.getLimit(), is(lessThan(20)));
+        assertThat(limiter.getInFlight(), is(0));
+    }
+
+    @Test
+    void whenMoreClientsThanTrackedArriveThenOnlyTheMostRecentAreKept() {
+        RequestBudget budget = new RequestBudget(properties.getWrite(), 2);
+
+        budget.tryConsume(CLIENT_ADDRESS);
+        budget.tryConsume(OTHER_CLIENT_ADDRESS);
+        budget.tryConsume("10.0.0.3");
+
+        assertThat(budget.trackedClients(), is(lessThanOrEqualTo(2)));
+        assertThat(budget.tryConsume("10.0.0.3"), is(greaterThan(0L)));
+    }
+
+    private MockHttpServletRequest proxied(String clientAddress) {
+        MockHttpServletRequest request = request("PATCH", PROXY_ADDRESS);
+        request.addHeader("X-Forwarded-For", "1.2.3.4, " + clientAddress);
+        return request;
+    }
+
+    private MockHttpServletRequest request(String method, String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, BEER_API_URL_PATH);
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.muller.beerstock.reservation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class HashedTimerWheelTest {
+
+    private final HashedTimerWheel timerWheel = new HashedTimerWheel(5, TimeUnit.MILLISECONDS, 8);
+
+    @AfterEach
+    void tearDown() {
+        timerWheel.stop();
+    }
+
+    @Test
+    void whenTimeoutsSpanSeveralRoundsThenEachOneShouldFireOnce() throws InterruptedException {
+        int timeouts = 1_000;
+        CountDownLatch fired = new CountDownLatch(timeouts);
+        AtomicInteger early = new AtomicInteger();
+        for (int i = 0; i < timeouts; i++) {
+            long delay = i % 200;
+            long due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+            timerWheel.schedule(() -> {
+                if (System.nanoTime() < due)
+                    early.incrementAndGet();
+                fired.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(fired.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(early.get(), is(0));
+    }
+
+    @Test
+    void whenTimeoutIsCancelledThenItShouldNotFire() throws InterruptedException {
+        AtomicInteger fired = new AtomicInteger();
+        HashedTimerWheel.Timeout cancelled = timerWheel.schedule(fired::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        HashedTimerWheel.Timeout kept = timerWheel.schedule(fired::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+
+        assertThat(cancelled.cancel(), is(true));
+        Thread.sleep(200);
+
+        assertThat(fired.get(), is(1));
+        assertThat(kept.isExpired(), is(true));
+        assertThat(cancelled.cancel(), is(false));
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.muller.beerstock.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ReplicaRoutingDataSourceTest {
+    private static final String CLIENT_ID = "pos-1";
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private DriverManagerDataSource primary;
+    private DriverManagerDataSource replica;
+    private ReadYourWritesTracker tracker;
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2(PRIMARY);
+        replica = h2(REPLICA);
+        tracker = new ReadYourWritesTracker(60_000);
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica), tracker);
+        routingDataSource.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.unbind();
+        new JdbcTemplate(primary).execute("DROP ALL OBJECTS");
+        new JdbcTemplate(new DriverManagerDataSource(url(REPLICA), "sa", "")).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void whenTransactionIsReadOnlyThenReplicaIsUsed() {
+        assertThat(readOnlyTransaction.execute(status -> databaseName()), is(REPLICA));
+    }
+
+    @Test
+    void whenTransactionWritesThenPrimaryIsUsed() {
+        assertThat(readWriteTransaction.execute(status -> databaseName()), is(PRIMARY));
+    }
+
+    @Test
+    void whenClientHasJustWrittenThenItsReadsStayOnPrimary() {
+        tracker.bind(CLIENT_ID);
+        tracker.recordWrite();
+
+        assertThat(readOnlyTransaction.execute(status -> databaseName()), is(PRIMARY));
+
+        tracker.bind("pos-2");
+        assertThat(readOnlyTransaction.execute(status -> databaseName()), is(REPLICA));
+    }
+
+    @Test
+    void whenReplicaFailsHealthCheckThenReadsFallBackToPrimary() {
+        replica.setUrl("jdbc:h2:mem:unreachable;IFEXISTS=TRUE");
+
+        routingDataSource.checkReplicaHealth();
+
+        assertThat(routingDataSource.getUnhealthyReplicas(), contains("replica-0"));
+        assertThat(readOnlyTransaction.execute(status -> databaseName()), is(PRIMARY));
+    }
+
+    private String databaseName() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private DriverManagerDataSource h2(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url(name), "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE marker (name VARCHAR(20))");
+        template.update("INSERT INTO marker VALUES (?)", name);
+        return dataSource;
+    }
+
+    private String url(String name) {
+        return "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1";
+    }
+}
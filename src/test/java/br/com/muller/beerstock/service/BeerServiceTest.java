@@ -1,20 +1,47 @@
 package br.com.muller.beerstock.service;
 
 import br.com.muller.beerstock.builder.BeerDTOBuilder;
+import br.com.muller.beerstock.cache.BeerCache;
+import br.com.muller.beerstock.capacity.CapacityGuard;
 import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.dto.BulkDeleteRequestDTO;
+import br.com.muller.beerstock.dto.BulkDeleteResultDTO;
+import br.com.muller.beerstock.dto.ReservationDTO;
 import br.com.muller.beerstock.entity.Beer;
+import br.com.muller.beerstock.event.BeerChangedEvent;
+import br.com.muller.beerstock.enums.MovementStatus;
+import br.com.muller.beerstock.enums.MovementType;
 import br.com.muller.beerstock.exception.*;
 import br.com.muller.beerstock.mapper.BeerMapper;
+import br.com.muller.beerstock.movement.StockMovement;
+import br.com.muller.beerstock.outbox.Outbox;
 import br.com.muller.beerstock.repository.BeerRepository;
+import br.com.muller.beerstock.repository.BeerView;
+import br.com.muller.beerstock.reservation.HashedTimerWheel;
+import br.com.muller.beerstock.reservation.ReservationRegistry;
+import br.com.muller.beerstock.warmup.HotBeerTracker;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
@@ -30,12 +57,51 @@ public class BeerServiceTest {
     @Mock
     private BeerRepository beerRepository;
 
+    @Mock
+    private BeerCache beerCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private Outbox outbox;
+
+    @Mock
+    private HotBeerTracker hotBeerTracker;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(new PlatformTransactionManager() {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    });
+
+    @Spy
+    private CapacityGuard capacityGuard = new CapacityGuard(Collections.emptyList(), null);
+
+    @Spy
+    private ReservationRegistry reservationRegistry = new ReservationRegistry(new HashedTimerWheel(10, TimeUnit.MILLISECONDS, 64));
+
     private BeerMapper beerMapper = BeerMapper.INSTANCE;
     private static final Long INVALID_BEER_ID = 2l;
 
+    @AfterEach
+    void tearDown() {
+        reservationRegistry.stop();
+    }
+
     //createBeer
     @Test
-    void whenBeerIsInformedThenItShouldBeCreated() throws BeerAlreadyRegisteredException {
+    void whenBeerIsInformedThenItShouldBeCreated() throws BeerAlreadyRegisteredException, BeerCapacityExceededException {
         //given
         BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
         Beer expectedSavedBeer = beerMapper.toModel(beerDTO);
@@ -72,7 +138,8 @@ public class BeerServiceTest {
         Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
 
         //when
-        when(beerRepository.findByName(expectedBeerDTO.getName())).thenReturn(Optional.of(expectedBeer));
+        when(beerRepository.findViewByName(expectedBeerDTO.getName())).thenReturn(Optional.of(new BeerView(expectedBeer.getId(), expectedBeer.getName(), expectedBeer.getBrand(),
+                expectedBeer.getMax(), expectedBeer.getQuantity(), expectedBeer.getType(), 0L)));
 
         //then
         BeerDTO foundBeerDTO = beerService.findByName(expectedBeerDTO.getName());
@@ -85,7 +152,7 @@ public class BeerServiceTest {
         BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
 
         //when
-        when(beerRepository.findByName(expectedBeerDTO.getName())).thenReturn(Optional.empty());
+        when(beerRepository.findViewByName(expectedBeerDTO.getName())).thenReturn(Optional.empty());
 
         //then
         assertThrows(BeerNotFoundException.class, () -> beerService.findByName(expectedBeerDTO.getName()));
@@ -96,9 +163,8 @@ public class BeerServiceTest {
     void whenListBeerIsCalledThenReturnAllBeersRegistered(){
         //given
         BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
-        Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
 
-        when(beerRepository.findAll()).thenReturn(List.of(expectedBeer));
+        when(beerRepository.findAllProjectedBy()).thenReturn(List.of(expectedBeerDTO));
 
         List<BeerDTO> foundbeers = beerService.listAll();
         assertThat(foundbeers, is(not(empty())));
@@ -110,7 +176,7 @@ public class BeerServiceTest {
         //given
         BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
 
-        when(beerRepository.findAll()).thenReturn(Collections.emptyList());
+        when(beerRepository.findAllProjectedBy()).thenReturn(Collections.emptyList());
 
         List<BeerDTO> foundbeers = beerService.listAll();
         assertThat(foundbeers, is(empty()));
@@ -121,15 +187,15 @@ public class BeerServiceTest {
     void whenDeleteABeerWithValidIdThenABeerShouldBeDeleted() throws BeerNotFoundException {
         //given
         BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
-        Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
+        BeerView expectedBeer = viewOf(expectedBeerDTO);
 
-        when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
-        doNothing().when(beerRepository).deleteById(expectedBeerDTO.getId());
+        when(beerRepository.findViewsByIdIn(List.of(expectedBeerDTO.getId()))).thenReturn(List.of(expectedBeer));
+        when(beerRepository.hardDeleteByIds(List.of(expectedBeerDTO.getId()))).thenReturn(1);
 
-        beerService.deleteById(expectedBeerDTO.getId());
+        beerService.deleteById(expectedBeerDTO.getId(), false);
 
-        verify(beerRepository, times(1)).findById(expectedBeerDTO.getId());
-        verify(beerRepository, times(1)).deleteById(expectedBeerDTO.getId());
+        verify(beerRepository, times(1)).hardDeleteByIds(List.of(expectedBeerDTO.getId()));
+        verify(beerRepository, never()).findById(expectedBeerDTO.getId());
     }
 
     @Test
@@ -137,14 +203,31 @@ public class BeerServiceTest {
         //given
         BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
 
-        when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.empty());
+        when(beerRepository.findViewsByIdIn(List.of(expectedBeerDTO.getId()))).thenReturn(Collections.emptyList());
+
+        assertThrows(BeerNotFoundException.class,() -> beerService.deleteById(expectedBeerDTO.getId(), false));
+    }
+
+    @Test
+    void whenBeersOfABrandAreSoftDeletedThenTheyAreFlaggedWithOneStatementAndEachDeletionIsPublished() {
+        //given
+        BeerDTO lager = BeerDTOBuilder.builder().id(1L).name("Lager").brand("Retired").build().toBeerDTO();
+        BeerDTO stout = BeerDTOBuilder.builder().id(2L).name("Stout").brand("Retired").build().toBeerDTO();
+        BulkDeleteRequestDTO deleteRequest = BulkDeleteRequestDTO.builder().brand("Retired").soft(true).build();
+
+        when(beerRepository.findViewsByBrandAndType("Retired", null)).thenReturn(List.of(viewOf(lager), viewOf(stout)));
+        when(beerRepository.softDeleteByIds(List.of(1L, 2L))).thenReturn(2);
+
+        BulkDeleteResultDTO result = beerService.deleteBeers(deleteRequest);
 
-        assertThrows(BeerNotFoundException.class,() -> beerService.deleteById(expectedBeerDTO.getId()));
+        assertThat(result.getDeleted(), is(2));
+        verify(beerRepository, never()).hardDeleteByIds(anyCollection());
+        verify(eventPublisher, times(2)).publishEvent(Mockito.any(BeerChangedEvent.class));
     }
 
     //increment
     @Test
-    void whenIncrementIsCalledThenIncrementBeerStock() throws BeerNotFoundException, BeerStockExceededException, QuantityLessThanZeroException {
+    void whenIncrementIsCalledThenIncrementBeerStock() throws BeerNotFoundException, BeerStockExceededException, QuantityLessThanZeroException, BeerCapacityExceededException {
         //given
         BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
         Beer expectedBeer = beerMapper.toModel(beerDTO);
@@ -161,6 +244,21 @@ public class BeerServiceTest {
         assertThat(quantityAfterIncrement, is(lessThanOrEqualTo(beerDTO.getMax())));
     }
 
+    @Test
+    void whenBeerIsChangedByAnotherInstanceDuringIncrementThenAConflictShouldBeThrown() {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        Beer expectedBeer = beerMapper.toModel(beerDTO);
+
+        //when
+        when(beerRepository.findById(beerDTO.getId())).thenReturn(Optional.of(expectedBeer));
+        when(beerRepository.save(expectedBeer)).thenThrow(new ObjectOptimisticLockingFailureException(Beer.class, beerDTO.getId()));
+
+        //then
+        assertThrows(BeerModifiedConcurrentlyException.class, () -> beerService.increment(beerDTO.getId(), 10));
+        verify(outbox, never()).record(Mockito.any());
+    }
+
     @Test
     void whenIncrementGreaterThenAllowedIsCalledThenAnExceptionShouldBeThrown() {
         //given
@@ -228,7 +326,9 @@ public class BeerServiceTest {
 
         //then
         int quantityToDecrement = 80;
-        assertThrows(BeerStockLessThenZeroException.class,() -> beerService.decrement(beerDTO.getId(),quantityToDecrement));
+        BeerStockLessThenZeroException exception = assertThrows(BeerStockLessThenZeroException.class,() -> beerService.decrement(beerDTO.getId(),quantityToDecrement));
+        assertThat(exception.getStackTrace().length, is(0));
+        assertThat(exception.getMessage(), containsString(String.valueOf(quantityToDecrement)));
 
     }
 
@@ -253,4 +353,106 @@ public class BeerServiceTest {
         //then
         assertThrows(QuantityLessThanZeroException.class,() -> beerService.decrement(beerDTO.getId(),quantityToDecrement));
     }
+
+    //applyMovements
+    @Test
+    void whenMovementsAreAppliedThenTheyShouldBeCheckedInOrderAndSavedOnce() {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        Beer expectedBeer = beerMapper.toModel(beerDTO);
+        StockMovement increment = new StockMovement(beerDTO.getId(), MovementType.INCREMENT, 30);
+        StockMovement tooBigIncrement = new StockMovement(beerDTO.getId(), MovementType.INCREMENT, 20);
+        StockMovement decrement = new StockMovement(beerDTO.getId(), MovementType.DECREMENT, 40);
+
+        //when
+        when(beerRepository.findById(beerDTO.getId())).thenReturn(Optional.of(expectedBeer));
+        when(beerRepository.save(expectedBeer)).thenReturn(expectedBeer);
+
+        //then
+        beerService.applyMovements(beerDTO.getId(), List.of(increment, tooBigIncrement, decrement));
+        assertThat(increment.getStatus(), is(MovementStatus.APPLIED));
+        assertThat(increment.getBeer().getQuantity(), is(beerDTO.getQuantity() + 30));
+        assertThat(tooBigIncrement.getStatus(), is(MovementStatus.REJECTED));
+        assertThat(decrement.getStatus(), is(MovementStatus.APPLIED));
+        assertThat(decrement.getBeer().getQuantity(), is(beerDTO.getQuantity() - 10));
+        verify(beerRepository, times(1)).save(expectedBeer);
+    }
+
+    //reserve
+    @Test
+    void whenBeerIsReservedThenHeldQuantityShouldNotBeAvailableToDecrement() throws Exception {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        Beer expectedBeer = beerMapper.toModel(beerDTO);
+
+        //when
+        when(beerRepository.findById(beerDTO.getId())).thenReturn(Optional.of(expectedBeer));
+
+        //then
+        ReservationDTO reservationDTO = beerService.reserve(beerDTO.getId(), 6, Duration.ofMinutes(1));
+        assertThat(reservationDTO.getAvailable(), is(beerDTO.getQuantity() - 6));
+        assertThrows(BeerStockLessThenZeroException.class,() -> beerService.decrement(beerDTO.getId(), 5));
+        assertThrows(BeerStockLessThenZeroException.class,() -> beerService.reserve(beerDTO.getId(), 5, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void whenReservationIsConfirmedThenBeerStockShouldBeDecremented() throws Exception {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        Beer expectedBeer = beerMapper.toModel(beerDTO);
+
+        //when
+        when(beerRepository.findById(beerDTO.getId())).thenReturn(Optional.of(expectedBeer));
+        when(beerRepository.save(expectedBeer)).thenReturn(expectedBeer);
+
+        //then
+        ReservationDTO reservationDTO = beerService.reserve(beerDTO.getId(), 4, Duration.ofMinutes(1));
+        BeerDTO confirmedBeerDTO = beerService.confirmReservation(beerDTO.getId(), reservationDTO.getId());
+        assertThat(confirmedBeerDTO.getQuantity(), is(beerDTO.getQuantity() - 4));
+        assertThat(reservationRegistry.heldQuantity(beerDTO.getId()), is(0));
+        assertThrows(ReservationNotFoundException.class,() -> beerService.confirmReservation(beerDTO.getId(), reservationDTO.getId()));
+    }
+
+    @Test
+    void whenConfirmedReservationCannotBeSavedThenItsQuantityShouldStayHeld() throws Exception {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        Beer expectedBeer = beerMapper.toModel(beerDTO);
+
+        //when
+        when(beerRepository.findById(beerDTO.getId())).thenReturn(Optional.of(expectedBeer));
+        when(beerRepository.save(expectedBeer)).thenThrow(new ObjectOptimisticLockingFailureException(Beer.class, beerDTO.getId()));
+
+        //then
+        ReservationDTO reservationDTO = beerService.reserve(beerDTO.getId(), 4, Duration.ofMinutes(1));
+        assertThrows(BeerModifiedConcurrentlyException.class,() -> beerService.confirmReservation(beerDTO.getId(), reservationDTO.getId()));
+        assertThat(reservationRegistry.heldQuantity(beerDTO.getId()), is(4));
+    }
+
+    @Test
+    void whenReservationExpiresThenHeldQuantityShouldBeReleased() throws Exception {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        Beer expectedBeer = beerMapper.toModel(beerDTO);
+
+        //when
+        when(beerRepository.findById(beerDTO.getId())).thenReturn(Optional.of(expectedBeer));
+
+        //then
+        ReservationDTO reservationDTO = beerService.reserve(beerDTO.getId(), beerDTO.getQuantity(), Duration.ofMillis(30));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (reservationRegistry.heldQuantity(beerDTO.getId()) > 0 && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        assertThat(reservationRegistry.heldQuantity(beerDTO.getId()), is(0));
+        assertThrows(ReservationNotFoundException.class,() -> beerService.cancelReservation(beerDTO.getId(), reservationDTO.getId()));
+    }
+
+    @Test
+    void whenUnknownReservationIsCancelledThenAnExceptionShouldBeThrown() {
+        assertThrows(ReservationNotFoundException.class,() -> beerService.cancelReservation(INVALID_BEER_ID, UUID.randomUUID()));
+    }
+
+    private BeerView viewOf(BeerDTO beerDTO) {
+        return new BeerView(beerDTO.getId(), beerDTO.getName(), beerDTO.getBrand(), beerDTO.getMax(), beerDTO.getQuantity(), beerDTO.getType(), 0L);
     }
+}
@@ -0,0 +1,60 @@
+package br.com.muller.beerstock.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConsistentHashRingTest {
+    private static final int KEYS = 10_000;
+
+    @Test
+    void whenKeysAreSpreadThenEveryNodeOwnsAFairShare() {
+        ConsistentHashRing ring = ringOf("node-a", "node-b", "node-c");
+
+        Map<String, Integer> owned = new HashMap<>();
+        for (int i = 0; i < KEYS; i++)
+            owned.merge(ring.ownerOf("Beer " + i), 1, Integer::sum);
+
+        assertThat(owned.keySet(), containsInAnyOrder("node-a", "node-b", "node-c"));
+        owned.values().forEach(count -> assertThat(count, is(both(greaterThan(KEYS / 5)).and(lessThan(KEYS / 2)))));
+    }
+
+    @Test
+    void whenNodeJoinsThenOnlyKeysMovingToItChangeOwner() {
+        ConsistentHashRing ring = ringOf("node-a", "node-b");
+        Map<String, String> before = new HashMap<>();
+        for (int i = 0; i < KEYS; i++)
+            before.put("Beer " + i, ring.ownerOf("Beer " + i));
+
+        ring.addNode("node-c");
+
+        int moved = 0;
+        for (Map.Entry<String, String> entry : before.entrySet()) {
+            String owner = ring.ownerOf(entry.getKey());
+            if (!owner.equals(entry.getValue())) {
+                assertThat(owner, is("node-c"));
+                moved++;
+            }
+        }
+        assertThat(moved, is(both(greaterThan(KEYS / 5)).and(lessThan(KEYS / 2))));
+    }
+
+    @Test
+    void whenRingIsEmptyThenAnExceptionShouldBeThrown() {
+        ConsistentHashRing ring = new ConsistentHashRing(16);
+
+        assertThrows(IllegalStateException.class, () -> ring.ownerOf("Brahma"));
+    }
+
+    private ConsistentHashRing ringOf(String... nodes) {
+        ConsistentHashRing ring = new ConsistentHashRing(128);
+        for (String node : nodes)
+            ring.addNode(node);
+        return ring;
+    }
+}
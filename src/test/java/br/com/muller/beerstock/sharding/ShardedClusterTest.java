@@ -0,0 +1,156 @@
+package br.com.muller.beerstock.sharding;
+
+import br.com.muller.beerstock.BeerstockApplication;
+import br.com.muller.beerstock.builder.BeerDTOBuilder;
+import br.com.muller.beerstock.builder.QuantityDTOBuilder;
+import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.dto.ClusterNodeDTO;
+import br.com.muller.beerstock.repository.BeerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static br.com.muller.beerstock.utils.JsonConvertionUtils.asJsonString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ShardedClusterTest {
+    private static final int BEERS = 30;
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final Map<String, String> nodeUrls = new LinkedHashMap<>();
+    private final Map<String, ConfigurableApplicationContext> nodes = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        for (String nodeId : List.of("node-a", "node-b", "node-c"))
+            nodeUrls.put(nodeId, "http://localhost:" + freePort());
+        startNode("node-a", 0, List.of("node-a", "node-b"));
+        startNode("node-b", 1, List.of("node-a", "node-b"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.values().forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void whenBeersAreCreatedOnAnyNodeThenEachOneLivesOnItsOwnerAndIsReachableEverywhere() throws Exception {
+        List<BeerDTO> created = createBeers();
+
+        assertThat(localCount("node-a"), is(greaterThan(0L)));
+        assertThat(localCount("node-b"), is(greaterThan(0L)));
+        assertThat(localCount("node-a") + localCount("node-b"), is((long) BEERS));
+        assertThat(list("node-b"), hasSize(BEERS));
+        assertThat(nodes.get("node-b").getBean(BeerRepository.class).findAll(),
+                everyItem(hasProperty("id", greaterThanOrEqualTo(1L << 40))));
+
+        for (BeerDTO beer : created) {
+            BeerDTO found = restTemplate.getForObject(nodeUrls.get("node-b") + "/api/v1/beers/" + beer.getName(), BeerDTO.class);
+            assertThat(found.getId(), is(beer.getId()));
+
+            BeerDTO incremented = patch(nodeUrls.get("node-a") + "/api/v1/beers/" + beer.getId() + "/increment",
+                    QuantityDTOBuilder.builder().quantity(1).build().toQuantityDTO());
+            assertThat(incremented.getQuantity(), is(beer.getQuantity() + 1));
+        }
+    }
+
+    @Test
+    void whenNodeJoinsThenItsShareOfBeersIsMovedToIt() throws Exception {
+        List<BeerDTO> created = createBeers();
+        for (BeerDTO beer : created)
+            patch(nodeUrls.get("node-a") + "/api/v1/beers/" + beer.getId() + "/increment",
+                    QuantityDTOBuilder.builder().quantity(1).build().toQuantityDTO());
+        startNode("node-c", 2, List.of("node-a", "node-b", "node-c"));
+
+        restTemplate.postForObject(nodeUrls.get("node-a") + "/api/v1/cluster/nodes",
+                new ClusterNodeDTO("node-c", nodeUrls.get("node-c")), Integer.class);
+
+        assertThat(localCount("node-c"), is(greaterThan(0L)));
+        assertThat(localCount("node-a") + localCount("node-b") + localCount("node-c"), is((long) BEERS));
+        assertThat(list("node-a"), hasSize(BEERS));
+        for (BeerDTO beer : created) {
+            BeerDTO found = restTemplate.getForObject(nodeUrls.get("node-c") + "/api/v1/beers/" + beer.getName(), BeerDTO.class);
+            assertThat(found.getId(), is(beer.getId()));
+        }
+        nodes.get("node-c").getBean(BeerRepository.class).findAll()
+                .forEach(beer -> assertThat(beer.getVersion(), is(1L)));
+    }
+
+    @Test
+    void whenCallerIsNotAClusterNodeThenClusterEndpointsAreForbidden() throws Exception {
+        ClusterAccessFilter filter = new ClusterAccessFilter(nodes.get("node-a").getBean(ShardRouter.class), Set.of());
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/cluster/beers");
+        request.setRemoteAddr("203.0.113.7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus(), is(HttpStatus.FORBIDDEN.value()));
+    }
+
+    private List<BeerDTO> createBeers() {
+        List<BeerDTO> created = new ArrayList<>();
+        for (int i = 0; i < BEERS; i++) {
+            BeerDTO beer = BeerDTOBuilder.builder().id(null).name("Beer " + i).build().toBeerDTO();
+            created.add(restTemplate.postForObject(nodeUrls.get("node-a") + "/api/v1/beers", beer, BeerDTO.class));
+        }
+        return created;
+    }
+
+    private BeerDTO patch(String url, Object body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(asJsonString(body)))
+                .build();
+        String response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString()).body();
+        return new ObjectMapper().readValue(response, BeerDTO.class);
+    }
+
+    private List<?> list(String nodeId) {
+        return restTemplate.getForObject(nodeUrls.get(nodeId) + "/api/v1/beers", List.class);
+    }
+
+    private long localCount(String nodeId) {
+        return nodes.get(nodeId).getBean(BeerRepository.class).count();
+    }
+
+    private void startNode(String nodeId, int nodeIndex, List<String> clusterNodes) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BeerstockApplication.class)
+                .properties("server.port=" + nodeUrls.get(nodeId).substring(nodeUrls.get(nodeId).lastIndexOf(':') + 1),
+                        "spring.datasource.url=jdbc:h2:mem:" + nodeId + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+                        "beerstock.sharding.enabled=true",
+                        "beerstock.sharding.node-id=" + nodeId,
+                        "beerstock.sharding.node-index=" + nodeIndex,
+                        "beerstock.rate-limit.write.per-client-rate=100",
+                        "beerstock.rate-limit.write.per-client-burst=200");
+        clusterNodes.forEach(clusterNode -> builder.properties("beerstock.sharding.nodes." + clusterNode + "=" + nodeUrls.get(clusterNode)));
+        nodes.put(nodeId, builder.run());
+    }
+
+    private int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
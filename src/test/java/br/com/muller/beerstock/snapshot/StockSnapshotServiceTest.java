@@ -0,0 +1,116 @@
+package br.com.muller.beerstock.snapshot;
+
+import br.com.muller.beerstock.BeerstockApplication;
+import br.com.muller.beerstock.builder.BeerDTOBuilder;
+import br.com.muller.beerstock.dto.BeerDTO;
+import br.com.muller.beerstock.dto.StockLevelDTO;
+import br.com.muller.beerstock.dto.StockSnapshotDTO;
+import br.com.muller.beerstock.entity.StockSnapshot;
+import br.com.muller.beerstock.exception.SnapshotNotFoundException;
+import br.com.muller.beerstock.repository.StockLevel;
+import br.com.muller.beerstock.service.BeerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+public class StockSnapshotServiceTest {
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private StockSnapshotService stockSnapshotService;
+
+    @Test
+    void whenStockIsQueriedAtPastInstantsThenQuantitiesAreRebuiltFromSnapshotsAndDeltas() throws Exception {
+        BeerDTO lager = create("Snapshot Lager", 10);
+        BeerDTO stout = create("Snapshot Stout", 5);
+        stockSnapshotService.takeSnapshot();
+        Instant afterFirstSnapshot = mark();
+
+        beerService.increment(lager.getId(), 5);
+        beerService.deleteById(stout.getId(), false);
+        BeerDTO ipa = create("Snapshot Ipa", 3);
+        Instant beforeSecondSnapshot = mark();
+
+        StockSnapshot rolledForward = stockSnapshotService.takeSnapshot();
+        beerService.increment(ipa.getId(), 1);
+        Instant afterSecondSnapshot = mark();
+
+        Set<Long> ids = Set.of(lager.getId(), stout.getId(), ipa.getId());
+        assertThat(quantitiesAt(afterFirstSnapshot, ids), is(Map.of(lager.getId(), 10, stout.getId(), 5)));
+        assertThat(quantitiesAt(beforeSecondSnapshot, ids), is(Map.of(lager.getId(), 15, ipa.getId(), 3)));
+        assertThat(quantitiesAt(afterSecondSnapshot, ids), is(Map.of(lager.getId(), 15, ipa.getId(), 4)));
+        assertThat(StockSnapshotCodec.decode(rolledForward.getPayload()).stream()
+                        .filter(level -> ids.contains(level.getBeerId()))
+                        .collect(Collectors.toMap(StockLevel::getBeerId, StockLevel::getQuantity)),
+                is(Map.of(lager.getId(), 15, ipa.getId(), 3)));
+    }
+
+    @Test
+    void whenStockIsQueriedBeforeAnySnapshotThenAnExceptionShouldBeThrown() {
+        assertThrows(SnapshotNotFoundException.class, () -> stockSnapshotService.quantitiesAt(Instant.EPOCH));
+    }
+
+    @Test
+    void whenApplicationStopsThenBufferedDeltasAreStored() throws Exception {
+        String url = "jdbc:h2:mem:snapshot-shutdown-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1";
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BeerstockApplication.class)
+                .run("--server.port=0", "--spring.datasource.url=" + url, "--beerstock.snapshots.delta-flush-millis=3600000");
+        BeerDTO beer = context.getBean(BeerService.class)
+                .createBeer(BeerDTOBuilder.builder().id(null).name("Shutdown Lager").build().toBeerDTO());
+
+        context.close();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stock_delta WHERE beer_id = ?", Integer.class, beer.getId()), is(1));
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void whenStockLevelsAreEncodedThenDecodingReturnsThemInIdOrder() {
+        List<StockLevel> levels = List.of(new StockLevel(1L, 0L, 0), new StockLevel(2L, 3L, 127),
+                new StockLevel(130L, 1L, 128), new StockLevel(5_000_000_000L, 70_000L, 500));
+
+        byte[] payload = StockSnapshotCodec.encode(levels);
+
+        assertThat(payload.length, is(lessThan(levels.size() * 6)));
+        List<StockLevel> decoded = StockSnapshotCodec.decode(payload);
+        assertThat(decoded.stream().map(StockLevel::getBeerId).collect(Collectors.toList()), contains(1L, 2L, 130L, 5_000_000_000L));
+        assertThat(decoded.stream().map(StockLevel::getVersion).collect(Collectors.toList()), contains(0L, 3L, 1L, 70_000L));
+        assertThat(decoded.stream().map(StockLevel::getQuantity).collect(Collectors.toList()), contains(0, 127, 128, 500));
+    }
+
+    private BeerDTO create(String name, int quantity) throws Exception {
+        return beerService.createBeer(BeerDTOBuilder.builder().id(null).name(name).quantity(quantity).build().toBeerDTO());
+    }
+
+    private Map<Long, Integer> quantitiesAt(Instant at, Set<Long> ids) throws SnapshotNotFoundException {
+        StockSnapshotDTO snapshot = stockSnapshotService.quantitiesAt(at);
+        return snapshot.getBeers().stream()
+                .filter(level -> ids.contains(level.getId()))
+                .collect(Collectors.toMap(StockLevelDTO::getId, StockLevelDTO::getQuantity));
+    }
+
+    private Instant mark() throws InterruptedException {
+        Thread.sleep(5);
+        Instant now = Instant.now();
+        Thread.sleep(5);
+        return now;
+    }
+}
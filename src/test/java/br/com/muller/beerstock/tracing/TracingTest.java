@@ -0,0 +1,102 @@
+package br.com.muller.beerstock.tracing;
+
+import br.com.muller.beerstock.builder.BeerDTOBuilder;
+import br.com.muller.beerstock.dto.BeerDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static br.com.muller.beerstock.utils.JsonConvertionUtils.asJsonString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(OutputCaptureExtension.class)
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {"beerstock.tracing.slow-threshold-millis=0", "beerstock.rate-limit.enabled=false", "beerstock.cache.enabled=false"})
+public class TracingTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void whenSampledRequestIsSlowThenItsSpansShouldBeLogged(CapturedOutput output) throws Exception {
+        BeerDTO beerDTO = BeerDTOBuilder.builder().id(null).name("Traced").build().toBeerDTO();
+        mockMvc.perform(post("/api/v1/beers").contentType(MediaType.APPLICATION_JSON).content(asJsonString(beerDTO)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/beers/Traced").header(TraceContext.TRACEPARENT_HEADER, "00-" + TRACE_ID + "-00f067aa0ba902b7-01"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TraceContext.TRACEPARENT_HEADER, allOf(startsWith("00-" + TRACE_ID + "-"), endsWith("-01"))));
+
+        String line = slowOperationLine(output, TRACE_ID);
+        assertThat(line, containsString("\"sampled\":true"));
+        assertThat(line, containsString("\"name\":\"BeerController.findByName\""));
+        assertThat(line, containsString("\"name\":\"BeerService.findByName\""));
+        assertThat(line, containsString("\"name\":\"BeerRepository.findViewByName\""));
+        assertThat(line, containsString("\"name\":\"SQL select"));
+    }
+
+    @Test
+    void whenUpstreamDidNotSampleThenOnlyTheDurationShouldBeLogged(CapturedOutput output) throws Exception {
+        mockMvc.perform(get("/api/v1/beers").header(TraceContext.B3_HEADER, TRACE_ID + "-00f067aa0ba902b7-0"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TraceContext.TRACEPARENT_HEADER, endsWith("-00")));
+
+        String line = slowOperationLine(output, TRACE_ID);
+        assertThat(line, containsString("\"sampled\":false"));
+        assertThat(line, not(containsString("\"spans\"")));
+    }
+
+    @Test
+    void whenNoTraceIsActiveThenConnectionsShouldNotBeProxied() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            assertThat(Proxy.isProxyClass(connection.getClass()), is(false));
+            assertThat(Proxy.isProxyClass(statement.getClass()), is(false));
+        }
+    }
+
+    @Test
+    void whenNoTraceHeaderIsSentThenB3HeadersShouldBeReadOrANewTraceStarted() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        TraceContext fresh = TraceContext.from(request);
+        assertThat(fresh.getSampled(), is(nullValue()));
+        assertThat(fresh.isPropagated(), is(false));
+        assertThat(fresh.getTraceId(), matchesPattern("[0-9a-f]{32}"));
+
+        request.addHeader(TraceContext.B3_TRACE_ID_HEADER, "a3ce929d0e0e4736");
+        request.addHeader(TraceContext.B3_SPAN_ID_HEADER, "00f067aa0ba902b7");
+        request.addHeader(TraceContext.B3_SAMPLED_HEADER, "1");
+        TraceContext b3 = TraceContext.from(request);
+        assertThat(b3.getTraceId(), is("0000000000000000a3ce929d0e0e4736"));
+        assertThat(b3.getParentSpanId(), is("00f067aa0ba902b7"));
+        assertThat(b3.getSampled(), is(true));
+    }
+
+    private String slowOperationLine(CapturedOutput output, String traceId) {
+        return output.getOut().lines()
+                .filter(line -> line.contains("slow_operation") && line.contains(traceId))
+                .reduce((first, last) -> last)
+                .orElseThrow(() -> new AssertionError("No slow operation logged for trace " + traceId));
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.muller.beerstock.warmup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class HotBeerTrackerTest {
+
+    @Test
+    void whenBeersAreLookedUpThenTheMostRequestedAreSavedForTheNextStart(@TempDir Path directory) {
+        Path file = directory.resolve("hot-beers.txt");
+        HotBeerTracker tracker = new HotBeerTracker(file, 100, 2);
+        for (int i = 0; i < 5; i++)
+            tracker.record("Brahma");
+        for (int i = 0; i < 3; i++)
+            tracker.record("Skol");
+        tracker.record("Heineken");
+
+        tracker.save();
+
+        assertThat(new HotBeerTracker(file, 100, 2).load(), contains("Brahma", "Skol"));
+        assertThat(tracker.hottest(3), contains("Brahma", "Skol"));
+    }
+
+    @Test
+    void whenTrackerIsFullThenNewNamesAreIgnored() {
+        HotBeerTracker tracker = new HotBeerTracker(null, 2, 10);
+        tracker.record("Brahma");
+        tracker.record("Skol");
+        tracker.record("Heineken");
+        tracker.record("Brahma");
+
+        assertThat(tracker.hottest(10), contains("Brahma", "Skol"));
+        assertThat(tracker.load(), is(empty()));
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.muller.beerstock.warmup;
+
+import br.com.muller.beerstock.builder.BeerDTOBuilder;
+import br.com.muller.beerstock.service.BeerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {"beerstock.warmup.iterations=500", "beerstock.warmup.connections=3"})
+public class WarmUpRunnerTest {
+
+    @Autowired
+    private WarmUpRunner warmUpRunner;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private HotBeerTracker hotBeerTracker;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void whenWarmUpRunsThenPoolIsFilledAndBeersArePreloaded() throws Exception {
+        for (int i = 0; i < 3; i++)
+            beerService.createBeer(BeerDTOBuilder.builder().id(null).name("Warm " + i).build().toBeerDTO());
+
+        WarmUpReport report = warmUpRunner.warmUp();
+
+        assertThat(report.getConnections(), is(3));
+        assertThat(report.getPreloadedBeers(), is(greaterThanOrEqualTo(3)));
+        assertThat(report.getSyntheticCalls(), is(500));
+        assertThat(hotBeerTracker.hottest(10), is(empty()));
+    }
+
+    @Test
+    void whenWarmUpIsOverThenTheInstanceReportsReady() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+}